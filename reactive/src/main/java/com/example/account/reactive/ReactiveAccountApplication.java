@@ -0,0 +1,16 @@
+package com.example.account.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * WebFlux + R2DBC + Redisson reactive 로 같은 API 를 제공하는 실행 모듈.
+ */
+@SpringBootApplication
+public class ReactiveAccountApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveAccountApplication.class, args);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.example.account.reactive.config;
+
+import com.example.account.config.LocalRedisConfig;
+import com.example.account.config.LockProperties;
+import com.example.account.config.RedisRepositoryConfig;
+import com.example.account.exception.GlobalExceptionHandler;
+import com.example.account.service.SnowflakeTransactionIdGenerator;
+import com.example.account.service.TransactionIdGenerator;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.RedissonReactiveClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+
+/**
+ * 블로킹 모듈의 redis 설정, 락 정책, 예외 응답 형식을 그대로 가져온다.
+ */
+@Configuration
+@EnableR2dbcAuditing
+@EnableConfigurationProperties(LockProperties.class)
+@Import({LocalRedisConfig.class, RedisRepositoryConfig.class, GlobalExceptionHandler.class})
+public class ReactiveConfig {
+    @Bean
+    public RedissonReactiveClient redissonReactiveClient(RedissonClient redissonClient) {
+        return redissonClient.reactive();
+    }
+
+    @Bean
+    public TransactionIdGenerator transactionIdGenerator(
+            @Value("${account.transaction-id.node-id}") long nodeId) {
+        return new SnowflakeTransactionIdGenerator(nodeId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.account.reactive.controller;
+
+import com.example.account.dto.AccountInfo;
+import com.example.account.dto.CreateAccount;
+import com.example.account.dto.DeleteAccount;
+import com.example.account.reactive.service.ReactiveAccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+@RestController
+@RequiredArgsConstructor
+public class ReactiveAccountController {
+    private final ReactiveAccountService accountService;
+
+    @PostMapping("/account")
+    public Mono<CreateAccount.Response> createAccount(
+            @RequestBody @Valid CreateAccount.Request request
+    ) {
+        return accountService.createAccount(request.getUserId(), request.getInitialBalance())
+                .map(CreateAccount.Response::from);
+    }
+
+    @DeleteMapping("/account")
+    public Mono<DeleteAccount.Response> deleteAccount(
+            @RequestBody @Valid DeleteAccount.Request request
+    ) {
+        return accountService.deleteAccount(request.getUserId(), request.getAccountNumber())
+                .map(DeleteAccount.Response::from);
+    }
+
+    @GetMapping("/account")
+    public Flux<AccountInfo> getAccountByUserId(
+            @RequestParam("user_id") Long userId) {
+        return accountService.getAccountsByUserId(userId)
+                .map(accountDto ->
+                        AccountInfo.builder()
+                                .accountNumber(accountDto.getAccountNumber())
+                                .balance(accountDto.getBalance()).build());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.account.reactive.controller;
+
+import com.example.account.config.LockProperties;
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.TransferBalance;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.reactive.service.ReactiveLockService;
+import com.example.account.reactive.service.ReactiveTransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.util.Collections;
+
+import static com.example.account.type.TransactionType.*;
+
+/**
+ * 블로킹 모듈의 TransactionController 와 같은 경로와 요청/응답 형식.
+ * 이 모듈에서는 모든 엔드포인트가 비동기이므로 /async 경로도 같은 처리로 연결한다.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ReactiveTransactionController {
+    private final ReactiveTransactionService transactionService;
+    private final ReactiveLockService lockService;
+    private final LockProperties lockProperties;
+
+    @PostMapping({"/transaction/use", "/transaction/use/async"})
+    public Mono<UseBalance.Response> useBalance(
+            @RequestBody @Valid UseBalance.Request request
+    ) {
+        return lockService.withLocks(
+                        Collections.singletonList(request.getAccountNumber()),
+                        lockProperties.policyOf("use"),
+                        transactionService.useBalance(request.getUserId(),
+                                request.getAccountNumber(), request.getAmount()))
+                .map(UseBalance.Response::from)
+                .onErrorResume(AccountException.class, e -> {
+                    log.error("Failed use balance");
+
+                    return transactionService.saveFailedTransaction(
+                                    USE, request.getAccountNumber(), request.getAmount())
+                            .then(Mono.error(e));
+                });
+    }
+
+    @PostMapping({"/transaction/cancel", "/transaction/cancel/async"})
+    public Mono<CancelBalance.Response> cancelBalance(
+            @RequestBody @Valid CancelBalance.Request request
+    ) {
+        return lockService.withLocks(
+                        Collections.singletonList(request.getAccountNumber()),
+                        lockProperties.policyOf("cancel"),
+                        transactionService.cancelBalance(request.getTransactionId(),
+                                request.getAccountNumber(), request.getAmount()))
+                .map(CancelBalance.Response::from)
+                .onErrorResume(AccountException.class, e -> {
+                    log.error("Failed cancel balance");
+
+                    return transactionService.saveFailedTransaction(
+                                    CANCEL, request.getAccountNumber(), request.getAmount())
+                            .then(Mono.error(e));
+                });
+    }
+
+    @PostMapping("/transaction/transfer")
+    public Mono<TransferBalance.Response> transfer(
+            @RequestBody @Valid TransferBalance.Request request
+    ) {
+        return lockService.withLocks(
+                        request.getAccountNumbers(),
+                        lockProperties.policyOf("transfer"),
+                        transactionService.transfer(request.getUserId(),
+                                request.getFromAccountNumber(),
+                                request.getToAccountNumber(),
+                                request.getAmount()))
+                .map(TransferBalance.Response::from)
+                .onErrorResume(AccountException.class, e -> {
+                    log.error("Failed transfer balance");
+
+                    return transactionService.saveFailedTransaction(
+                                    TRANSFER_OUT, request.getFromAccountNumber(), request.getAmount())
+                            .then(Mono.error(e));
+                });
+    }
+
+    @GetMapping("/transaction/{transactionId}")
+    public Mono<QueryTransactionResponse> queryTransaction(@PathVariable String transactionId) {
+        return transactionService.queryTransaction(transactionId)
+                .map(QueryTransactionResponse::from);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.account.reactive.domain;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.AccountStatus;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+import static com.example.account.type.ErrorCode.*;
+
+/**
+ * R2DBC 는 연관관계를 매핑하지 않으므로 사용자는 id 로만 참조한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("account")
+public class Account {
+    @Id
+    private Long id;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    private Long accountUserId;
+    private String accountNumber;
+
+    private AccountStatus accountStatus;
+    private Long balance;
+
+    private LocalDateTime registeredAt;
+    private LocalDateTime unRegisteredAt;
+
+    @Version
+    private Long version;
+
+    public void useBalance(Long amount) {
+        if(balance < amount) {
+            throw new AccountException(AMOUNT_EXCEED_BALANCE);
+        }
+        balance -= amount;
+    }
+
+    public void receiveBalance(Long amount) {
+        if (amount < 0) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+        balance += amount;
+    }
+
+    public void cancelBalance(Long amount) {
+        if (amount < 0) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+        balance += amount;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.account.reactive.domain;
+
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table("transaction")
+public class Transaction {
+    @Id
+    private Long id;
+
+    private TransactionType transactionType;
+    private TransactionResultType transactionResultType;
+
+    private Long accountId;
+    private Long amount;
+    private Long balanceSnapshot;
+
+    private String transactionId;
+    private LocalDateTime transactedAt;
+}
@@ -0,0 +1,21 @@
+package com.example.account.reactive.repository;
+
+import com.example.account.reactive.domain.AccountUser;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface AccountUserRepository extends R2dbcRepository<AccountUser, Long> {
+    @Modifying
+    @Query("update account_user set account_count = account_count + 1" +
+            " where id = :userId and account_count < :maxAccountCount")
+    Mono<Integer> incrementAccountCount(Long userId, int maxAccountCount);
+
+    @Modifying
+    @Query("update account_user set account_count = account_count - 1" +
+            " where id = :userId and account_count > 0")
+    Mono<Integer> decrementAccountCount(Long userId);
+}
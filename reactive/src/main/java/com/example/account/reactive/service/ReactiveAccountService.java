@@ -0,0 +1,104 @@
+package com.example.account.reactive.service;
+
+import com.example.account.dto.AccountDto;
+import com.example.account.exception.AccountException;
+import com.example.account.reactive.domain.Account;
+import com.example.account.reactive.domain.AccountUser;
+import com.example.account.reactive.repository.AccountRepository;
+import com.example.account.reactive.repository.AccountUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static com.example.account.type.AccountStatus.*;
+import static com.example.account.type.ErrorCode.*;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveAccountService {
+    public static final int MAX_ACCOUNT_COUNT = 10;
+    private static final long ACCOUNT_NUMBER_BASE = 1_000_000_000L;
+
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * 샤딩하지 않으므로 계좌 수 카운터 증가와 계좌 저장을 한 트랜잭션으로 처리한다.
+     */
+    public Mono<AccountDto> createAccount(Long userId, Long initialBalance) {
+        return findUser(userId)
+                .flatMap(accountUser -> accountUserRepository
+                        .incrementAccountCount(userId, MAX_ACCOUNT_COUNT))
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new AccountException(MAX_ACCOUNT_PER_USER_10))
+                        : accountRepository.nextAccountNumberSequence())
+                .flatMap(sequence -> accountRepository.save(Account.builder()
+                        .accountUserId(userId)
+                        .accountStatus(IN_USE)
+                        .accountNumber(String.valueOf(ACCOUNT_NUMBER_BASE + sequence))
+                        .balance(initialBalance)
+                        .registeredAt(LocalDateTime.now())
+                        .build()))
+                .map(ReactiveAccountService::toDto)
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<AccountDto> deleteAccount(Long userId, String accountNumber) {
+        return findUser(userId)
+                .flatMap(accountUser -> accountRepository.findByAccountNumber(accountNumber)
+                        .switchIfEmpty(Mono.error(new AccountException(ACCOUNT_NOT_FOUND)))
+                        .flatMap(account -> {
+                            validateDeleteAccount(accountUser, account);
+
+                            account.setAccountStatus(UNREGISTERED);
+                            account.setUnRegisteredAt(LocalDateTime.now());
+
+                            return accountRepository.save(account);
+                        }))
+                .flatMap(account -> accountUserRepository.decrementAccountCount(userId)
+                        .thenReturn(toDto(account)))
+                .as(transactionalOperator::transactional);
+    }
+
+    private void validateDeleteAccount(AccountUser accountUser, Account account) {
+        if(!Objects.equals(accountUser.getId(), account.getAccountUserId())) {
+            throw new AccountException(USER_ACCOUNT_UNMATCH);
+        }
+
+        if(account.getAccountStatus() == UNREGISTERED) {
+            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+
+        if(account.getBalance() > 0) {
+            throw new AccountException(BALANCE_NOT_EMPTY);
+        }
+    }
+
+    public Flux<AccountDto> getAccountsByUserId(Long userId) {
+        return findUser(userId)
+                .flatMapMany(accountUser ->
+                        accountRepository.findByAccountUserIdOrderByAccountNumber(userId))
+                .map(ReactiveAccountService::toDto);
+    }
+
+    private Mono<AccountUser> findUser(Long userId) {
+        return accountUserRepository.findById(userId)
+                .switchIfEmpty(Mono.error(new AccountException(USER_NOT_FOUND)));
+    }
+
+    private static AccountDto toDto(Account account) {
+        return AccountDto.builder()
+                .userId(account.getAccountUserId())
+                .accountNumber(account.getAccountNumber())
+                .balance(account.getBalance())
+                .registeredAt(account.getRegisteredAt())
+                .unRegisteredAt(account.getUnRegisteredAt())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.account.reactive.service;
+
+import com.example.account.config.LockPolicy;
+import com.example.account.exception.AccountException;
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RedissonReactiveClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+import static com.example.account.type.LockStrategy.DISTRIBUTED;
+
+/**
+ * 락 대기 중에도 스레드를 붙잡지 않는 계좌 락. 키는 블로킹 모듈과 같으므로 같은 Redis 를 쓰면 서로 배타적이다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveLockService {
+    // 락은 스레드에 묶이지 않으므로 요청마다 owner id 를 새로 발급 (실제 스레드 id 와 겹치지 않는 음수)
+    private static final AtomicLong OWNER_SEQUENCE = new AtomicLong();
+
+    private final RedissonReactiveClient redissonReactiveClient;
+
+    /**
+     * 계좌번호 순서로 락을 취득한 뒤 work 를 구독하고, 끝나거나 실패하거나 취소되면 해제한다.
+     */
+    public <T> Mono<T> withLocks(Collection<String> accountNumbers, LockPolicy policy,
+                                 Mono<T> work) {
+        if (policy.getStrategy() != DISTRIBUTED) {
+            return work;
+        }
+
+        List<String> ordered = accountNumbers.stream()
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+
+        Mono<T> locked = work;
+        for (int i = ordered.size() - 1; i >= 0; i--) {
+            locked = withLock(ordered.get(i), policy, locked);
+        }
+        return locked;
+    }
+
+    private <T> Mono<T> withLock(String accountNumber, LockPolicy policy, Mono<T> work) {
+        return Mono.defer(() -> {
+            long ownerId = -OWNER_SEQUENCE.incrementAndGet();
+            RLockReactive lock = redissonReactiveClient.getLock(getLockKey(accountNumber));
+
+            return Mono.usingWhen(
+                    lock.tryLock(policy.getWaitTimeMillis(), policy.getLeaseTimeMillis(),
+                                    TimeUnit.MILLISECONDS, ownerId)
+                            .flatMap(acquired -> acquired
+                                    ? Mono.just(lock)
+                                    : Mono.error(new AccountException(ACCOUNT_TRANSACTION_LOCK))),
+                    acquired -> work,
+                    acquired -> acquired.unlock(ownerId));
+        });
+    }
+
+    private static String getLockKey(String accountNumber) {
+        return "ACLK" + accountNumber;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.account.reactive.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransferDto;
+import com.example.account.exception.AccountException;
+import com.example.account.reactive.domain.Account;
+import com.example.account.reactive.domain.AccountUser;
+import com.example.account.reactive.domain.Transaction;
+import com.example.account.reactive.repository.AccountRepository;
+import com.example.account.reactive.repository.AccountUserRepository;
+import com.example.account.reactive.repository.TransactionRepository;
+import com.example.account.service.ShardResolver;
+import com.example.account.service.TransactionIdGenerator;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.ErrorCode.*;
+import static com.example.account.type.TransactionResultType.FAIL;
+import static com.example.account.type.TransactionResultType.SUCCESS;
+import static com.example.account.type.TransactionType.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveTransactionService {
+    private final TransactionRepository transactionRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final TransactionalOperator transactionalOperator;
+
+    public Mono<TransactionDto> useBalance(Long userId, String accountNumber, Long amount) {
+        return findUser(userId)
+                .flatMap(accountUser -> findAccount(accountNumber)
+                        .flatMap(account -> {
+                            validateUseBalance(accountUser, account, amount);
+
+                            account.useBalance(amount);
+
+                            return accountRepository.save(account);
+                        }))
+                .flatMap(account -> saveAndGetTransaction(USE, SUCCESS, account, amount))
+                .as(this::transactional);
+    }
+
+    private void validateUseBalance(AccountUser accountUser, Account account, Long amount) {
+        if(!Objects.equals(accountUser.getId(), account.getAccountUserId())) {
+            throw new AccountException(USER_ACCOUNT_UNMATCH);
+        }
+
+        if(account.getAccountStatus() != IN_USE) {
+            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+
+        if(account.getBalance() < amount) {
+            throw new AccountException(AMOUNT_EXCEED_BALANCE);
+        }
+    }
+
+    public Mono<TransactionDto> cancelBalance(String transactionId, String accountNumber,
+                                              Long amount) {
+        return transactionRepository.findByTransactionId(transactionId)
+                .switchIfEmpty(Mono.error(new AccountException(TRANSACTION_NOT_FOUND)))
+                .flatMap(transaction -> findAccount(accountNumber)
+                        .flatMap(account -> {
+                            validateCancelBalance(transaction, account, amount);
+
+                            account.cancelBalance(amount);
+
+                            return accountRepository.save(account);
+                        }))
+                .flatMap(account -> saveAndGetTransaction(CANCEL, SUCCESS, account, amount))
+                .as(this::transactional);
+    }
+
+    private void validateCancelBalance(Transaction transaction, Account account, Long amount) {
+        if(!Objects.equals(transaction.getAccountId(), account.getId())) {
+            throw new AccountException(TRANSACTION_ACCOUNT_UN_MATCH);
+        }
+
+        if(!Objects.equals(transaction.getAmount(), amount)) {
+            throw new AccountException(CANCEL_MUST_FULLY);
+        }
+
+        if(transaction.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
+            throw new AccountException(TOO_OLD_ORDER_TO_CANCEL);
+        }
+    }
+
+    public Mono<TransferDto> transfer(Long userId, String fromAccountNumber,
+                                      String toAccountNumber, Long amount) {
+        if (Objects.equals(fromAccountNumber, toAccountNumber)) {
+            return Mono.error(new AccountException(INVALID_REQUEST));
+        }
+
+        return findUser(userId)
+                .flatMap(accountUser -> Mono.zip(
+                                findAccount(fromAccountNumber), findAccount(toAccountNumber))
+                        .flatMap(accounts -> {
+                            Account fromAccount = accounts.getT1();
+                            Account toAccount = accounts.getT2();
+
+                            validateUseBalance(accountUser, fromAccount, amount);
+                            if (toAccount.getAccountStatus() != IN_USE) {
+                                throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+                            }
+
+                            fromAccount.useBalance(amount);
+                            toAccount.receiveBalance(amount);
+
+                            // 출금과 입금 거래 내역을 하나의 DB 트랜잭션에서 기록
+                            return accountRepository.save(fromAccount)
+                                    .then(accountRepository.save(toAccount))
+                                    .then(Mono.zip(
+                                            saveAndGetTransaction(TRANSFER_OUT, SUCCESS,
+                                                    fromAccount, amount),
+                                            saveAndGetTransaction(TRANSFER_IN, SUCCESS,
+                                                    toAccount, amount)));
+                        }))
+                .map(transactions -> TransferDto.builder()
+                        .withdrawal(transactions.getT1())
+                        .deposit(transactions.getT2())
+                        .build())
+                .as(this::transactional);
+    }
+
+    /**
+     * 실패한 거래도 내역으로 남긴다. 기록 실패는 원래 에러를 가리지 않도록 로그만 남긴다.
+     */
+    public Mono<Void> saveFailedTransaction(TransactionType transactionType,
+                                            String accountNumber, Long amount) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .flatMap(account -> saveAndGetTransaction(transactionType, FAIL, account, amount))
+                .onErrorResume(e -> {
+                    log.error("Failed to save failed transaction", e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    public Mono<TransactionDto> queryTransaction(String transactionId) {
+        return transactionRepository.findByTransactionId(transactionId)
+                .switchIfEmpty(Mono.error(new AccountException(TRANSACTION_NOT_FOUND)))
+                .flatMap(transaction -> accountRepository.findById(transaction.getAccountId())
+                        .map(account -> toDto(transaction, account)));
+    }
+
+    private Mono<TransactionDto> saveAndGetTransaction(
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            Account account,
+            Long amount) {
+        return transactionRepository.save(Transaction.builder()
+                        .transactionType(transactionType)
+                        .transactionResultType(transactionResultType)
+                        .accountId(account.getId())
+                        .amount(amount)
+                        .balanceSnapshot(account.getBalance())
+                        .transactionId(transactionIdGenerator.generate(ShardResolver.HOME_SHARD))
+                        .transactedAt(LocalDateTime.now())
+                        .build())
+                .map(transaction -> toDto(transaction, account));
+    }
+
+    private Mono<AccountUser> findUser(Long userId) {
+        return accountUserRepository.findById(userId)
+                .switchIfEmpty(Mono.error(new AccountException(USER_NOT_FOUND)));
+    }
+
+    private Mono<Account> findAccount(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .switchIfEmpty(Mono.error(new AccountException(ACCOUNT_NOT_FOUND)));
+    }
+
+    // 락 없이 실행하는 전략에서 버전 충돌이 나면 블로킹 모듈과 같은 에러 코드로 응답
+    private <T> Mono<T> transactional(Mono<T> work) {
+        return work.as(transactionalOperator::transactional)
+                .onErrorMap(OptimisticLockingFailureException.class,
+                        e -> new AccountException(ACCOUNT_TRANSACTION_LOCK));
+    }
+
+    private static TransactionDto toDto(Transaction transaction, Account account) {
+        return TransactionDto.builder()
+                .accountNumber(account.getAccountNumber())
+                .transactionType(transaction.getTransactionType())
+                .transactionResult(transaction.getTransactionResultType())
+                .amount(transaction.getAmount())
+                .balanceSnapshot(transaction.getBalanceSnapshot())
+                .transactionId(transaction.getTransactionId())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+    }
+}
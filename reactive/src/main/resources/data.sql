@@ -0,0 +1,5 @@
+insert into account_user(id, name, account_count, created_at, updated_at)
+values (1, 'kim', 0, now(), now());
+
+insert into account_user(id, name, account_count, created_at, updated_at)
+values (2, 'park', 0, now(), now());
@@ -0,0 +1,40 @@
+create table if not exists account_user (
+    id bigint auto_increment primary key,
+    name varchar(255),
+    account_count int not null default 0,
+    created_at timestamp,
+    updated_at timestamp
+);
+
+create table if not exists account (
+    id bigint auto_increment primary key,
+    account_user_id bigint not null,
+    account_number varchar(10) not null,
+    account_status varchar(20) not null,
+    balance bigint not null,
+    registered_at timestamp,
+    un_registered_at timestamp,
+    version bigint not null default 0,
+    created_at timestamp,
+    updated_at timestamp,
+    constraint ux_account_account_number unique (account_number)
+);
+
+create index if not exists ix_account_account_user_id on account (account_user_id);
+
+create table if not exists transaction (
+    id bigint auto_increment primary key,
+    transaction_type varchar(20) not null,
+    transaction_result_type varchar(20) not null,
+    account_id bigint not null,
+    amount bigint not null,
+    balance_snapshot bigint,
+    transaction_id varchar(64) not null,
+    transacted_at timestamp not null,
+    constraint ux_transaction_transaction_id unique (transaction_id)
+);
+
+create index if not exists ix_transaction_account_id_transacted_at_id
+    on transaction (account_id, transacted_at, id);
+
+create sequence if not exists account_number_seq start with 1;
@@ -0,0 +1,24 @@
+package com.example.account.benchmark;
+
+import com.example.account.reactive.ReactiveAccountApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+/**
+ * WebFlux + R2DBC 모듈의 HTTP 처리량. 블로킹 모듈의 HttpLoadBenchmark 와 같은 HttpLoadScenario.
+ * {@code ./gradlew :reactive:benchmark} 로 실행.
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = ReactiveAccountApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveHttpLoadBenchmark {
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void useBalance() {
+        HttpLoadScenario.run("reactive", "http://localhost:" + port);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.account.reactive;
+
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.CreateAccount;
+import com.example.account.dto.UseBalance;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveAccountApiTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("계좌 생성, 잔액 사용, 취소, 조회")
+    void useAndCancel() {
+        //given
+        String accountNumber = createAccount(1L, 10000L);
+
+        //when
+        UseBalance.Response used = webTestClient.post().uri("/transaction/use")
+                .bodyValue(new UseBalance.Request(1L, accountNumber, 3000L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UseBalance.Response.class)
+                .returnResult().getResponseBody();
+
+        webTestClient.post().uri("/transaction/cancel")
+                .bodyValue(new CancelBalance.Request(used.getTransactionId(), accountNumber, 3000L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.transactionResult").isEqualTo("SUCCESS");
+
+        //then
+        webTestClient.get().uri("/transaction/" + used.getTransactionId())
+                .exchange()
+                .expectBody()
+                .jsonPath("$.accountNumber").isEqualTo(accountNumber)
+                .jsonPath("$.transactionType").isEqualTo("USE")
+                .jsonPath("$.amount").isEqualTo(3000);
+        webTestClient.get().uri("/account?user_id=1")
+                .exchange()
+                .expectBody()
+                .jsonPath("$[?(@.accountNumber == '" + accountNumber + "')].balance")
+                .isEqualTo(10000);
+    }
+
+    @Test
+    @DisplayName("잔액 부족 - 블로킹 모듈과 같은 에러 응답")
+    void exceedAmount() {
+        //given
+        String accountNumber = createAccount(2L, 100L);
+
+        //when
+        //then
+        webTestClient.post().uri("/transaction/use")
+                .bodyValue(new UseBalance.Request(2L, accountNumber, 1000L))
+                .exchange()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("AMOUNT_EXCEED_BALANCE");
+    }
+
+    @Test
+    @DisplayName("같은 계좌에 동시에 사용해도 잔액이 맞음")
+    void concurrentUseOnSameAccount() {
+        //given
+        String accountNumber = createAccount(1L, 10000L);
+
+        //when
+        WebClient webClient = WebClient.create("http://localhost:" + port);
+        List<String> bodies = Flux.range(0, 20)
+                .flatMap(i -> webClient.post().uri("/transaction/use")
+                        .bodyValue(new UseBalance.Request(1L, accountNumber, 100L))
+                        .retrieve()
+                        .bodyToMono(String.class))
+                .collectList()
+                .block();
+
+        //then
+        long succeeded = bodies.stream()
+                .filter(body -> !body.contains("\"errorCode\""))
+                .count();
+        webTestClient.get().uri("/account?user_id=1")
+                .exchange()
+                .expectBody()
+                .jsonPath("$[?(@.accountNumber == '" + accountNumber + "')].balance")
+                .isEqualTo((int) (10000 - 100 * succeeded));
+    }
+
+    private String createAccount(Long userId, Long initialBalance) {
+        return webTestClient.post().uri("/account")
+                .bodyValue(new CreateAccount.Request(userId, initialBalance))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CreateAccount.Response.class)
+                .returnResult().getResponseBody()
+                .getAccountNumber();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.account.aop;
 
+import com.example.account.type.BackoffStrategy;
+import com.example.account.type.LockStrategy;
+
 import java.lang.annotation.*;
 
 @Target(ElementType.METHOD)
@@ -7,5 +10,14 @@ import java.lang.annotation.*;
 @Documented
 @Inherited
 public @interface AccountLock {
-    long tryLockTime() default 5000L;
+    // account.lock.policies.<policy> 설정이 있으면 아래 값보다 우선
+    String policy() default "";
+
+    long tryLockTime() default 1000L;
+
+    long leaseTime() default 15000L;
+
+    BackoffStrategy backoff() default BackoffStrategy.FIXED;
+
+    LockStrategy strategy() default LockStrategy.DEFAULT;
 }
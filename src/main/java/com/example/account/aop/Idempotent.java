@@ -0,0 +1,13 @@
+package com.example.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * Idempotency-Key 헤더가 있으면 처음 성공한 응답을 저장해 두고,
+ * 같은 키로 다시 오면 락이나 DB 를 거치지 않고 저장한 응답을 돌려준다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Idempotent {
+}
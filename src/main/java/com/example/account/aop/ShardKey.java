@@ -0,0 +1,15 @@
+package com.example.account.aop;
+
+import com.example.account.type.ShardKeyType;
+
+import java.lang.annotation.*;
+
+/**
+ * 서비스 메서드 파라미터에 붙이면 그 값으로 샤드를 정해서 메서드(트랜잭션 포함)를 그 샤드에서 실행한다.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ShardKey {
+    ShardKeyType value() default ShardKeyType.ACCOUNT_NUMBER;
+}
@@ -0,0 +1,109 @@
+package com.example.account.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬에서 복제본을 흉내내기 위한 H2 전용 복제기. 원본을 SCRIPT 로 떠서 주기적으로 복제본에 덮어쓴다.
+ * 복제본 테이블을 지우고 다시 채우므로 account.datasource.h2-replication-stand-in=true 일 때만 등록한다.
+ * 첫 복제는 스키마까지, 이후에는 한 트랜잭션 안에서 데이터만 교체하므로 복제본 읽기는 이전 또는 새 스냅샷만 본다.
+ */
+@Slf4j
+public class H2ReplicationStandIn implements ReplicaLagProbe {
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long intervalMillis;
+
+    private volatile long replicatedAt = 0L;
+    private boolean schemaReplicated;
+    private ScheduledExecutorService scheduler;
+
+    public H2ReplicationStandIn(DataSource primary, DataSource replica, long intervalMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "h2-replication");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::replicateQuietly,
+                0L, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // 복제본이 반영한 원본 스냅샷의 나이. 한 번도 복제되지 않았으면 Long.MAX_VALUE
+    @Override
+    public long lagMillis() {
+        long at = replicatedAt;
+        return at == 0L ? Long.MAX_VALUE : System.currentTimeMillis() - at;
+    }
+
+    synchronized void replicate() throws SQLException {
+        long snapshotAt = System.currentTimeMillis();
+        List<String> statements = new ArrayList<>();
+        List<String> tables = new ArrayList<>();
+
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet script = statement.executeQuery("SCRIPT")) {
+                while (script.next()) {
+                    String sql = script.getString(1);
+                    if (!schemaReplicated || sql.startsWith("INSERT INTO")) {
+                        statements.add(sql);
+                    }
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery("select table_name" +
+                    " from information_schema.tables where table_schema = 'PUBLIC'")) {
+                while (resultSet.next()) {
+                    tables.add(resultSet.getString(1));
+                }
+            }
+        }
+
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            if (schemaReplicated) {
+                for (String table : tables) {
+                    statement.execute("DELETE FROM \"PUBLIC\".\"" + table + "\"");
+                }
+            }
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+            connection.commit();
+        }
+
+        schemaReplicated = true;
+        replicatedAt = snapshotAt;
+    }
+
+    private void replicateQuietly() {
+        try {
+            replicate();
+        } catch (SQLException e) {
+            log.error("H2 replication failed", e);
+        }
+    }
+}
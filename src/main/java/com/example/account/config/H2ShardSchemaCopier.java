@@ -0,0 +1,66 @@
+package com.example.account.config;
+
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 로컬 H2 샤드용. 스키마와 초기 데이터(data.sql)는 0번 샤드에만 만들어지므로,
+ * 웹 서버가 요청을 받기 전에 0번 샤드를 SCRIPT 로 떠서 나머지 샤드에 그대로 만든다.
+ * 빈 H2 샤드를 가정하므로 account.sharding.h2-bootstrap=true 일 때만 등록한다.
+ */
+public class H2ShardSchemaCopier implements SmartLifecycle {
+    private final ShardRoutingDataSource shardRoutingDataSource;
+    private volatile boolean running;
+
+    public H2ShardSchemaCopier(ShardRoutingDataSource shardRoutingDataSource) {
+        this.shardRoutingDataSource = shardRoutingDataSource;
+    }
+
+    @Override
+    public void start() {
+        try {
+            List<String> script = new ArrayList<>();
+            try (Connection connection = shardRoutingDataSource.shard(0).getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SCRIPT")) {
+                while (resultSet.next()) {
+                    script.add(resultSet.getString(1));
+                }
+            }
+
+            for (int shard = 1; shard < shardRoutingDataSource.shardCount(); shard++) {
+                try (Connection connection = shardRoutingDataSource.shard(shard).getConnection();
+                     Statement statement = connection.createStatement()) {
+                    for (String sql : script) {
+                        statement.execute(sql);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to copy schema to shards", e);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버(Integer.MAX_VALUE - 1)보다 먼저 시작
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
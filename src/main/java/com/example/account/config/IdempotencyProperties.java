@@ -0,0 +1,22 @@
+package com.example.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.idempotency")
+public class IdempotencyProperties {
+    // 저장한 응답을 재사용할 기간
+    private long ttlMillis = 86_400_000L;
+
+    // 처리 중 표시의 만료 시간. 처리하던 노드가 죽어도 이 시간이 지나면 같은 키로 다시 시도 가능
+    private long inProgressTtlMillis = 30_000L;
+
+    // 로컬 저장소 최대 건수와 Redis 사용 여부 (여러 노드가 같은 키를 보려면 Redis 사용)
+    private long localMaxSize = 100_000L;
+    private boolean redisEnabled = true;
+}
@@ -0,0 +1,59 @@
+package com.example.account.config;
+
+import com.example.account.type.BackoffStrategy;
+import com.example.account.type.LockStrategy;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class LockPolicy {
+    private LockStrategy strategy;
+    private Long waitTimeMillis;
+    // -1 이면 고정 만료 없이 Redisson watchdog 이 갱신
+    private Long leaseTimeMillis;
+    private BackoffStrategy backoff;
+    private Long backoffInitialMillis;
+    private Long backoffMaxMillis;
+
+    public static LockPolicy defaults() {
+        return LockPolicy.builder()
+                .strategy(LockStrategy.DISTRIBUTED)
+                .waitTimeMillis(1000L)
+                .leaseTimeMillis(15000L)
+                .backoff(BackoffStrategy.FIXED)
+                .backoffInitialMillis(10L)
+                .backoffMaxMillis(200L)
+                .build();
+    }
+
+    public LockPolicy overriddenBy(LockPolicy override) {
+        if (override == null) {
+            return this;
+        }
+
+        LockPolicyBuilder builder = toBuilder();
+        if (override.strategy != null && override.strategy != LockStrategy.DEFAULT) {
+            builder.strategy(override.strategy);
+        }
+        if (override.waitTimeMillis != null) {
+            builder.waitTimeMillis(override.waitTimeMillis);
+        }
+        if (override.leaseTimeMillis != null) {
+            builder.leaseTimeMillis(override.leaseTimeMillis);
+        }
+        if (override.backoff != null) {
+            builder.backoff(override.backoff);
+        }
+        if (override.backoffInitialMillis != null) {
+            builder.backoffInitialMillis(override.backoffInitialMillis);
+        }
+        if (override.backoffMaxMillis != null) {
+            builder.backoffMaxMillis(override.backoffMaxMillis);
+        }
+
+        return builder.build();
+    }
+}
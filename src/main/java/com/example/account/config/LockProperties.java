@@ -0,0 +1,70 @@
+package com.example.account.config;
+
+import com.example.account.aop.AccountLock;
+import com.example.account.type.AsyncLockMode;
+import com.example.account.type.LockStrategy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.lock")
+public class LockProperties {
+    // @AccountLock(strategy = DEFAULT) 일 때 사용할 전략.
+    // NONE 은 조건부 UPDATE 경로가 있는 엔드포인트에만 의미가 있으므로 여기서는 DISTRIBUTED 로 취급
+    private LockStrategy strategy = LockStrategy.DISTRIBUTED;
+
+    // 엔드포인트별 락 정책 (@AccountLock(policy = "...") 이름으로 조회)
+    private Map<String, LockPolicy> policies = new HashMap<>();
+
+    // 계좌 버전 충돌 시 최대 시도 횟수와 재시도 간격 (낙관적 락, 조건부 UPDATE 와 겹친 분산 락 경로)
+    private int optimisticMaxAttempts = 3;
+    private long optimisticRetryDelayMillis = 10L;
+
+    // 같은 노드 안의 경쟁 요청을 Redis 락 앞에서 먼저 줄 세울지 여부
+    private boolean localTierEnabled = true;
+
+    // 계좌번호 해시로 나눠 쓰는 로컬 락 개수 (2의 거듭제곱으로 올림)
+    private int localStripes = 256;
+
+    // 잔액 변경 엔드포인트의 직렬화 방식 (분산 락 또는 계좌별 단일 작성자 큐, 동기 요청도 같은 큐 사용)
+    private AsyncLockMode asyncMode = AsyncLockMode.DISTRIBUTED_LOCK;
+
+    // 계좌별 큐에 쌓일 수 있는 최대 작업 수
+    private int mailboxCapacity = 1000;
+
+    // 경합 통계를 유지할 최대 계좌 수 (넘으면 드물게 경합하는 계좌부터 밀려남)
+    private int metricsMaxTrackedAccounts = 10000;
+
+    public LockPolicy policyOf(AccountLock accountLock) {
+        LockPolicy annotated = LockPolicy.builder()
+                .strategy(accountLock.strategy())
+                .waitTimeMillis(accountLock.tryLockTime())
+                .leaseTimeMillis(accountLock.leaseTime())
+                .backoff(accountLock.backoff())
+                .build();
+
+        return LockPolicy.defaults()
+                .overriddenBy(LockPolicy.builder().strategy(defaultStrategy()).build())
+                .overriddenBy(annotated)
+                .overriddenBy(policies.get(accountLock.policy()));
+    }
+
+    // @AccountLock 없이 직접 락을 잡는 곳에서 사용
+    public LockPolicy policyOf(String policyName) {
+        return LockPolicy.defaults()
+                .overriddenBy(LockPolicy.builder().strategy(defaultStrategy()).build())
+                .overriddenBy(policies.get(policyName));
+    }
+
+    private LockStrategy defaultStrategy() {
+        // 전역 NONE 은 취소/이체처럼 엔티티를 읽고 고치는 경로의 락까지 풀어버림
+        return strategy == LockStrategy.NONE ? LockStrategy.DISTRIBUTED : strategy;
+    }
+}
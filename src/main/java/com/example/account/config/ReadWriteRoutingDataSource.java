@@ -0,0 +1,31 @@
+package com.example.account.config;
+
+import com.example.account.type.DataSourceRole;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.LongSupplier;
+
+/**
+ * readOnly 트랜잭션은 복제본으로, 나머지는 원본으로 보낸다.
+ * 복제 지연이 허용치를 넘으면 읽기도 원본으로 보낸다.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private final LongSupplier replicaLagMillis;
+    private final long maxStalenessMillis;
+
+    public ReadWriteRoutingDataSource(LongSupplier replicaLagMillis, long maxStalenessMillis) {
+        this.replicaLagMillis = replicaLagMillis;
+        this.maxStalenessMillis = maxStalenessMillis;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaLagMillis.getAsLong() <= maxStalenessMillis) {
+            return DataSourceRole.REPLICA;
+        }
+
+        return DataSourceRole.PRIMARY;
+    }
+}
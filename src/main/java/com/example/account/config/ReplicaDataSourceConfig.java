@@ -0,0 +1,79 @@
+package com.example.account.config;
+
+import com.example.account.type.DataSourceRole;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * replica 프로파일에서 원본/복제본 커넥션 풀을 나누고, readOnly 트랜잭션을 복제본으로 보낸다.
+ * 복제 지연은 ReplicaLagProbe 빈에서 읽는다. 로컬 H2 에서는 H2ReplicationStandIn 이 복제와 지연을 함께 맡는다.
+ */
+@Configuration
+@Profile("replica")
+public class ReplicaDataSourceConfig {
+    @Value("${account.datasource.max-staleness-millis}")
+    private long maxStalenessMillis;
+
+    @Value("${account.datasource.replication-interval-millis}")
+    private long replicationIntervalMillis;
+
+    @Bean
+    @ConfigurationProperties("account.datasource.primary")
+    public HikariDataSource primaryDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("account.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "account.datasource.h2-replication-stand-in", havingValue = "true")
+    public H2ReplicationStandIn h2ReplicationStandIn() {
+        return new H2ReplicationStandIn(
+                primaryDataSource(), replicaDataSource(), replicationIntervalMillis);
+    }
+
+    // 스키마와 초기 데이터가 원본에 만들어진 뒤에 복제 시작
+    @Bean
+    @ConditionalOnProperty(name = "account.datasource.h2-replication-stand-in", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> h2ReplicationStarter() {
+        return event -> h2ReplicationStandIn().start();
+    }
+
+    /**
+     * 트랜잭션 시작 시점에는 readOnly 여부가 아직 설정되지 않으므로,
+     * 첫 쿼리 시점에 커넥션을 고르도록 LazyConnectionDataSourceProxy 로 감싼다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaLagProbe replicaLagProbe) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRole.PRIMARY, primaryDataSource());
+        targets.put(DataSourceRole.REPLICA, replicaDataSource());
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(
+                replicaLagProbe::lagMillis, maxStalenessMillis);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource());
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
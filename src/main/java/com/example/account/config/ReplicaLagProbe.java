@@ -0,0 +1,10 @@
+package com.example.account.config;
+
+/**
+ * 복제본이 원본보다 얼마나 뒤처져 있는지 알려준다. replica 프로파일에서 읽기 라우팅에 사용한다.
+ * 실제 복제본을 쓰는 배포에서는 DB 의 복제 상태를 읽는 구현을 빈으로 등록한다.
+ */
+public interface ReplicaLagProbe {
+    // 알 수 없으면 Long.MAX_VALUE (읽기도 원본으로 보냄)
+    long lagMillis();
+}
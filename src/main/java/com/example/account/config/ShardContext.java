@@ -0,0 +1,31 @@
+package com.example.account.config;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호. 바인딩되지 않았으면 0번 샤드.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard == null ? 0 : shard;
+    }
+
+    // 이전 값을 돌려주므로 호출한 쪽에서 restore 로 되돌린다
+    public static Integer bind(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    public static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.account.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * sharding 프로파일에서 계좌번호 해시로 나눈 여러 DB 를 사용한다.
+ * replica 프로파일과 함께 쓸 수 없다.
+ */
+@Configuration
+@Profile("sharding")
+public class ShardingDataSourceConfig {
+    @Value("${account.sharding.shard-count}")
+    private int shardCount;
+
+    @Bean
+    @ConfigurationProperties("account.sharding")
+    public ShardDataSources shardDataSources() {
+        return new ShardDataSources();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource shardRoutingDataSource() {
+        List<DataSourceProperties> datasources = shardDataSources().getDatasources();
+        if (datasources.size() != shardCount) {
+            throw new IllegalStateException("account.sharding.datasources must have "
+                    + shardCount + " entries but has " + datasources.size());
+        }
+
+        return new ShardRoutingDataSource(datasources.stream()
+                .map(properties -> properties.initializeDataSourceBuilder()
+                        .type(HikariDataSource.class)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 트랜잭션 시작 시점이 아니라 첫 쿼리 시점에 샤드를 고르도록 LazyConnectionDataSourceProxy 로 감싼다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource());
+    }
+
+    // 로컬 H2 샤드 전용. 실제 샤드는 스키마를 따로 배포하므로 켜지 않는다
+    @Bean
+    @ConditionalOnProperty(name = "account.sharding.h2-bootstrap", havingValue = "true")
+    public H2ShardSchemaCopier h2ShardSchemaCopier() {
+        return new H2ShardSchemaCopier(shardRoutingDataSource());
+    }
+
+    @Getter
+    @Setter
+    public static class ShardDataSources {
+        private List<DataSourceProperties> datasources = new ArrayList<>();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.account.config;
+
+import com.example.account.type.DebitMode;
+import com.example.account.type.FailedRecordOverflow;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.transaction")
+public class TransactionProperties {
+    // CONDITIONAL_UPDATE 는 엔티티 조회 없이 조건부 UPDATE 한 번으로 잔액을 차감
+    private DebitMode debitMode = DebitMode.ENTITY;
+
+    // 거래 조회 캐시 (L1 최대 건수, TTL, Redis L2 사용 여부)
+    private long cacheMaxSize = 100_000L;
+    private long cacheTtlMillis = 600_000L;
+    private boolean cacheRedisEnabled = false;
+
+    // 실패 거래 기록 큐 (용량, 한 번에 저장할 건수, 대기 시간, 큐가 가득 찼을 때 정책)
+    private int failedRecordQueueCapacity = 10_000;
+    private int failedRecordBatchSize = 100;
+    private long failedRecordFlushIntervalMillis = 200L;
+    private FailedRecordOverflow failedRecordOverflow = FailedRecordOverflow.CALLER_RUNS;
+
+    // 내보내기 요청의 비동기 타임아웃 (spring.mvc.async.request-timeout 대신 사용)
+    private long exportTimeoutMillis = 1_800_000L;
+}
@@ -0,0 +1,43 @@
+package com.example.account.config;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * virtual-threads 프로필. Tomcat 요청 처리와 비동기 거래 executor 를 가상 스레드로 돌린다.
+ * 락 대기와 커넥션 풀 대기 동안에는 캐리어 스레드가 풀리지만, H2 1.4.200 드라이버와 Hibernate 5.6 의
+ * {@code synchronized} 구간에서 블로킹하면 캐리어 스레드가 고정(pinning)되므로 JPA 호출 중에는
+ * 캐리어 스레드 수가 동시 처리 수의 상한이 된다.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService transactionExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // 내보내기도 가상 스레드에서 실행. 동시에 열 수 있는 스트림 수는 커넥션 풀이 제한
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(mvcTaskExecutor()));
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService mvcTaskExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
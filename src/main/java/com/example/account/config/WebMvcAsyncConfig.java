@@ -0,0 +1,40 @@
+package com.example.account.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * StreamingResponseBody, Callable 을 실행하는 MVC 비동기 executor.
+ * transactionExecutor 가 있으면 Boot 의 applicationTaskExecutor 가 만들어지지 않아
+ * 스레드 수 제한이 없는 SimpleAsyncTaskExecutor 로 떨어지므로 직접 지정한다.
+ */
+@Configuration
+@Profile("!virtual-threads")
+public class WebMvcAsyncConfig implements WebMvcConfigurer {
+    @Value("${account.async.mvc-pool-size}")
+    private int poolSize;
+
+    @Value("${account.async.mvc-queue-capacity}")
+    private int queueCapacity;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcTaskExecutor());
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor mvcTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+
+        return executor;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.account.controller;
+
+import com.example.account.service.LockMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "accountlocks")
+@RequiredArgsConstructor
+public class LockMetricsEndpoint {
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final LockMetrics lockMetrics;
+
+    @ReadOperation
+    public List<LockMetrics.HotAccount> hottest(@Nullable Integer limit) {
+        return lockMetrics.hottest(limit == null ? DEFAULT_LIMIT : limit);
+    }
+}
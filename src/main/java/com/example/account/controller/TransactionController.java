@@ -1,47 +1,124 @@
 package com.example.account.controller;
 
 import com.example.account.aop.AccountLock;
+import com.example.account.aop.Idempotent;
+import com.example.account.config.TransactionProperties;
 import com.example.account.dto.CancelBalance;
+import com.example.account.dto.FailedTransaction;
 import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransferBalance;
 import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
 import com.example.account.exception.AccountException;
+import com.example.account.service.FailedTransactionRecorder;
+import com.example.account.service.TransactionExporter;
 import com.example.account.service.TransactionService;
+import com.example.account.service.UseBalanceBatchService;
+import com.example.account.type.ExportFormat;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static com.example.account.type.TransactionType.*;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class TransactionController {
+    private static final String EXPORT_TIMEOUT_INTERCEPTOR = "exportTimeout";
+
     private final TransactionService transactionService;
+    private final Executor transactionExecutor;
+    private final FailedTransactionRecorder failedTransactionRecorder;
+    private final TransactionExporter transactionExporter;
+    private final TransactionProperties transactionProperties;
+    private final UseBalanceBatchService useBalanceBatchService;
 
     @PostMapping("/transaction/use")
-    @AccountLock
+    @Idempotent
+    @AccountLock(policy = "use")
     public UseBalance.Response useBalance(
             @RequestBody @Valid UseBalance.Request request
-    ) throws InterruptedException{
+    ) {
+        return doUseBalance(request);
+    }
+
+    @PostMapping("/transaction/use/async")
+    @Idempotent
+    @AccountLock(policy = "use")
+    public CompletableFuture<UseBalance.Response> useBalanceAsync(
+            @RequestBody @Valid UseBalance.Request request
+    ) {
+        return CompletableFuture.supplyAsync(
+                () -> doUseBalance(request), transactionExecutor);
+    }
+
+    /**
+     * 계좌별로 묶어서 처리하고 요청 순서대로 건별 결과를 돌려준다. 일부 건이 실패해도 200.
+     */
+    @PostMapping("/transaction/use/batch")
+    public UseBalanceBatch.Response useBalanceBatch(
+            @RequestBody @Valid UseBalanceBatch.Request request
+    ) {
+        return UseBalanceBatch.Response.from(
+                useBalanceBatchService.useBalances(request.getItems()));
+    }
+
+    private UseBalance.Response doUseBalance(UseBalance.Request request) {
         try {
-            Thread.sleep(5000);
             return UseBalance.Response.from(
                     transactionService.useBalance(request.getUserId(),
                             request.getAccountNumber(), request.getAmount()));
         } catch (AccountException e) {
             log.error("Failed use balance");
 
-            transactionService.saveFailedTransaction(request.getAccountNumber(), request.getAmount());
+            failedTransactionRecorder.record(new FailedTransaction(
+                    USE, request.getAccountNumber(), request.getAmount()));
 
             throw e;
         }
     }
 
     @PostMapping("/transaction/cancel")
-    @AccountLock
+    @Idempotent
+    @AccountLock(policy = "cancel")
     public CancelBalance.Response cancelBalance(
             @RequestBody @Valid CancelBalance.Request request
     ) {
+        return doCancelBalance(request);
+    }
+
+    @PostMapping("/transaction/cancel/async")
+    @Idempotent
+    @AccountLock(policy = "cancel")
+    public CompletableFuture<CancelBalance.Response> cancelBalanceAsync(
+            @RequestBody @Valid CancelBalance.Request request
+    ) {
+        return CompletableFuture.supplyAsync(
+                () -> doCancelBalance(request), transactionExecutor);
+    }
+
+    private CancelBalance.Response doCancelBalance(CancelBalance.Request request) {
         try {
             return CancelBalance.Response.from(
                     transactionService.cancelBalance(request.getTransactionId(),
@@ -50,14 +127,93 @@ public class TransactionController {
         } catch (AccountException e) {
             log.error("Failed cancel balance");
 
-            transactionService.saveFailedTransaction(
-                    request.getAccountNumber(), request.getAmount()
+            failedTransactionRecorder.record(new FailedTransaction(
+                    CANCEL, request.getAccountNumber(), request.getAmount()));
+
+            throw e;
+        }
+    }
+
+    @PostMapping("/transaction/transfer")
+    @AccountLock(policy = "transfer")
+    public TransferBalance.Response transfer(
+            @RequestBody @Valid TransferBalance.Request request
+    ) {
+        try {
+            return TransferBalance.Response.from(
+                    transactionService.transfer(request.getUserId(),
+                            request.getFromAccountNumber(),
+                            request.getToAccountNumber(),
+                            request.getAmount())
             );
+        } catch (AccountException e) {
+            log.error("Failed transfer balance");
+
+            failedTransactionRecorder.record(new FailedTransaction(
+                    TRANSFER_OUT, request.getFromAccountNumber(), request.getAmount()));
 
             throw e;
         }
     }
 
+    @GetMapping("/account/{accountNumber}/transactions")
+    public TransactionHistory.Response getTransactionHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(value = "type", required = false) TransactionType transactionType,
+            @RequestParam(value = "result", required = false)
+            TransactionResultType transactionResultType,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        return TransactionHistory.Response.from(
+                transactionService.getTransactionHistory(accountNumber,
+                        transactionType, transactionResultType, from, to, cursor, size)
+        );
+    }
+
+    /**
+     * 계좌 전체 또는 하루치 거래 내역을 NDJSON/CSV 로 스트리밍. date 가 있으면 from/to 는 무시.
+     */
+    @GetMapping("/transaction/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(value = "accountNumber", required = false) String accountNumber,
+            @RequestParam(value = "date", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format,
+            HttpServletRequest request
+    ) {
+        // 내보내기는 일반 비동기 요청 타임아웃보다 오래 걸리므로 이 요청만 타임아웃을 늘림
+        long exportTimeoutMillis = transactionProperties.getExportTimeoutMillis();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(
+                EXPORT_TIMEOUT_INTERCEPTOR, new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest,
+                                                             Callable<T> task) {
+                        ((AsyncWebRequest) webRequest).setTimeout(exportTimeoutMillis);
+                    }
+                });
+
+        LocalDateTime begin = date != null ? date.atStartOfDay() : from;
+        LocalDateTime end = date != null ? date.plusDays(1).atStartOfDay() : to;
+
+        return ResponseEntity.ok()
+                .contentType(format == ExportFormat.CSV
+                        ? new MediaType("text", "csv")
+                        : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions."
+                        + format.name().toLowerCase())
+                .body(outputStream -> transactionExporter.export(
+                        accountNumber, begin, end, format, outputStream));
+    }
+
     @GetMapping("/transaction/{transactionId}")
     public QueryTransactionResponse queryTransaction(@PathVariable String transactionId) {
         return QueryTransactionResponse.from(
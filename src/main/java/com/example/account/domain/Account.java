@@ -19,10 +19,15 @@ import static com.example.account.type.ErrorCode.*;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "ux_account_account_number", columnList = "account_number", unique = true),
+        @Index(name = "ix_account_account_user_id", columnList = "account_user_id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Account {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accountIdGenerator")
+    @SequenceGenerator(name = "accountIdGenerator", sequenceName = "account_seq", allocationSize = 50)
     private Long id;
 
     @CreatedDate
@@ -31,7 +36,7 @@ public class Account {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private AccountUser accountUser;
     private String accountNumber;
 
@@ -42,6 +47,9 @@ public class Account {
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
 
+    @Version
+    private Long version;
+
     public void useBalance(Long amount) {
         if(balance < amount) {
             throw new AccountException(AMOUNT_EXCEED_BALANCE);
@@ -49,6 +57,13 @@ public class Account {
         balance -= amount;
     }
 
+    public void receiveBalance(Long amount) {
+        if (amount < 0) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+        balance += amount;
+    }
+
     public void cancelBalance(Long amount) {
         if (amount < 0) {
             throw new AccountException(INVALID_REQUEST);
@@ -5,10 +5,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import javax.persistence.Entity;
-import javax.persistence.EntityListeners;
-import javax.persistence.GeneratedValue;
-import javax.persistence.Id;
+import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Getter
@@ -20,11 +17,16 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class AccountUser {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accountUserIdGenerator")
+    @SequenceGenerator(name = "accountUserIdGenerator", sequenceName = "account_user_seq", allocationSize = 50)
     private Long id;
 
     private String name;
 
+    // 해지하지 않은 계좌 수. 조건부 update 로만 바꾸므로 캐시된 엔티티의 값은 오래됐을 수 있음
+    @Column(nullable = false)
+    private int accountCount;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
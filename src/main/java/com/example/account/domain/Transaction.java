@@ -3,7 +3,6 @@ package com.example.account.domain;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
 import lombok.*;
-import org.apache.tomcat.jni.Local;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,10 +16,17 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "ux_transaction_transaction_id", columnList = "transaction_id", unique = true),
+        @Index(name = "ix_transaction_account_id_transacted_at_id",
+                columnList = "account_id, transacted_at, id"),
+        @Index(name = "ix_transaction_transacted_at", columnList = "transacted_at")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Transaction {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactionIdGenerator")
+    @SequenceGenerator(name = "transactionIdGenerator", sequenceName = "transaction_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -28,7 +34,7 @@ public class Transaction {
     @Enumerated(EnumType.STRING)
     private TransactionResultType transactionResultType;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Account account;
     private Long amount;
     private Long balanceSnapshot;
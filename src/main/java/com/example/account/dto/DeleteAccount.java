@@ -1,7 +1,6 @@
 package com.example.account.dto;
 
 import lombok.*;
-import org.apache.tomcat.jni.Local;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
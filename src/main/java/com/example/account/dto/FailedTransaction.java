@@ -0,0 +1,13 @@
+package com.example.account.dto;
+
+import com.example.account.type.TransactionType;
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class FailedTransaction {
+    private TransactionType transactionType;
+    private String accountNumber;
+    private Long amount;
+}
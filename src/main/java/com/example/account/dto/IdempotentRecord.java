@@ -0,0 +1,36 @@
+package com.example.account.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Idempotency-Key 하나에 대한 기록. response 가 없으면 처리 중.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode
+public class IdempotentRecord {
+    // 같은 키가 다른 요청에 쓰였는지 확인하기 위한 요청 해시
+    private String fingerprint;
+    private String response;
+    // 처리 중 표시를 남긴 요청 구분용. 같은 요청이 다시 와도 표시마다 다름
+    private String claim;
+
+    public static IdempotentRecord inProgress(String fingerprint) {
+        return new IdempotentRecord(fingerprint, null, UUID.randomUUID().toString());
+    }
+
+    public static IdempotentRecord completed(String fingerprint, String response) {
+        return new IdempotentRecord(fingerprint, response, null);
+    }
+
+    @JsonIgnore
+    public boolean isCompleted() {
+        return response != null;
+    }
+}
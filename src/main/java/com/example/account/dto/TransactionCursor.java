@@ -0,0 +1,42 @@
+package com.example.account.dto;
+
+import com.example.account.exception.AccountException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static com.example.account.type.ErrorCode.INVALID_REQUEST;
+
+/**
+ * 거래 이력 페이지 커서. 마지막으로 내려준 거래의 (transactedAt, id) 를 담는다.
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionCursor {
+    private static final String SEPARATOR = "|";
+
+    private LocalDateTime transactedAt;
+    private Long id;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (transactedAt + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String decoded = new String(
+                    Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+
+            return new TransactionCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+    }
+}
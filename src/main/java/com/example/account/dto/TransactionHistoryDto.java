@@ -0,0 +1,15 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionHistoryDto {
+    private List<TransactionDto> transactions;
+    private String nextCursor;
+}
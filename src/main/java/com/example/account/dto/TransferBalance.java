@@ -0,0 +1,68 @@
+package com.example.account.dto;
+
+import com.example.account.aop.AccountLockIdsInterface;
+import com.example.account.type.TransactionResultType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import javax.validation.constraints.*;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+public class TransferBalance {
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Request implements AccountLockIdsInterface {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String fromAccountNumber;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String toAccountNumber;
+
+        @NotNull
+        @Min(10)
+        @Max(1000_000_000)
+        private Long amount;
+
+        @Override
+        @JsonIgnore
+        public List<String> getAccountNumbers() {
+            return Arrays.asList(fromAccountNumber, toAccountNumber);
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private String fromAccountNumber;
+        private String toAccountNumber;
+        private TransactionResultType transactionResult;
+        private String withdrawalTransactionId;
+        private String depositTransactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+
+        public static Response from(TransferDto transferDto) {
+            return Response.builder()
+                    .fromAccountNumber(transferDto.getWithdrawal().getAccountNumber())
+                    .toAccountNumber(transferDto.getDeposit().getAccountNumber())
+                    .transactionResult(transferDto.getWithdrawal().getTransactionResult())
+                    .withdrawalTransactionId(transferDto.getWithdrawal().getTransactionId())
+                    .depositTransactionId(transferDto.getDeposit().getTransactionId())
+                    .amount(transferDto.getWithdrawal().getAmount())
+                    .transactedAt(transferDto.getWithdrawal().getTransactedAt())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import lombok.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class UseBalanceBatch {
+    public static final int MAX_ITEMS = 100;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        @Valid
+        @NotEmpty
+        @Size(max = MAX_ITEMS)
+        private List<UseBalance.Request> items;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        // 요청한 items 와 같은 순서
+        private List<Item> results;
+
+        public static Response from(List<UseBalanceOutcome> outcomes) {
+            return Response.builder()
+                    .results(outcomes.stream()
+                            .map(Item::from)
+                            .collect(Collectors.toList()))
+                    .build();
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private String accountNumber;
+        private TransactionResultType transactionResult;
+        private String transactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public static Item from(UseBalanceOutcome outcome) {
+            if (!outcome.isSuccess()) {
+                return Item.builder()
+                        .accountNumber(outcome.getAccountNumber())
+                        .transactionResult(TransactionResultType.FAIL)
+                        .amount(outcome.getAmount())
+                        .errorCode(outcome.getErrorCode())
+                        .errorMessage(outcome.getErrorCode().getDescription())
+                        .build();
+            }
+
+            TransactionDto transactionDto = outcome.getTransaction();
+            return Item.builder()
+                    .accountNumber(transactionDto.getAccountNumber())
+                    .transactionResult(transactionDto.getTransactionResult())
+                    .transactionId(transactionDto.getTransactionId())
+                    .amount(transactionDto.getAmount())
+                    .transactedAt(transactionDto.getTransactedAt())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import lombok.*;
+
+/**
+ * 일괄 잔액 사용의 건별 결과. 성공하면 transaction, 실패하면 errorCode 가 채워진다.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class UseBalanceOutcome {
+    private String accountNumber;
+    private Long amount;
+    private TransactionDto transaction;
+    private ErrorCode errorCode;
+
+    public static UseBalanceOutcome success(TransactionDto transactionDto) {
+        return UseBalanceOutcome.builder()
+                .accountNumber(transactionDto.getAccountNumber())
+                .amount(transactionDto.getAmount())
+                .transaction(transactionDto)
+                .build();
+    }
+
+    public static UseBalanceOutcome failure(String accountNumber, Long amount,
+                                            ErrorCode errorCode) {
+        return UseBalanceOutcome.builder()
+                .accountNumber(accountNumber)
+                .amount(amount)
+                .errorCode(errorCode)
+                .build();
+    }
+
+    public boolean isSuccess() {
+        return errorCode == null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.account.repository;
+
+public interface AccountBalanceView {
+    Long getId();
+
+    Long getBalance();
+}
@@ -2,19 +2,44 @@ package com.example.account.repository;
 
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
-    Optional<Account> findFirstByOrderByIdDesc();
-
     List<Account> findByAccountUser(AccountUser accountUser);
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
-    Integer countByAccountUser(AccountUser accountUser);
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    @Query("select new com.example.account.dto.AccountDto(" +
+            " a.accountUser.id, a.accountNumber, a.balance, a.registeredAt, a.unRegisteredAt)" +
+            " from Account a where a.accountUser.id = :userId")
+    List<AccountDto> findDtosByUserId(@Param("userId") Long userId);
+
+    // 앞서 읽어 둔 계좌 엔티티가 차감 전 잔액으로 남지 않도록 영속성 컨텍스트를 비움
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a" +
+            " set a.balance = a.balance - :amount, a.version = a.version + 1" +
+            " where a.accountNumber = :accountNumber" +
+            " and a.accountUser.id = :userId" +
+            " and a.accountStatus = com.example.account.type.AccountStatus.IN_USE" +
+            " and a.balance >= :amount")
+    int debitIfAvailable(@Param("userId") Long userId,
+                         @Param("accountNumber") String accountNumber,
+                         @Param("amount") Long amount);
+
+    @Query("select a.id as id, a.balance as balance from Account a" +
+            " where a.accountNumber = :accountNumber")
+    Optional<AccountBalanceView> findBalanceByAccountNumber(
+            @Param("accountNumber") String accountNumber);
 }
@@ -2,8 +2,21 @@ package com.example.account.repository;
 
 import com.example.account.domain.AccountUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AccountUserRepository extends JpaRepository<AccountUser, Long> {
+    @Modifying
+    @Query("update AccountUser u set u.accountCount = u.accountCount + 1" +
+            " where u.id = :userId and u.accountCount < :maxAccountCount")
+    int incrementAccountCount(@Param("userId") Long userId,
+                              @Param("maxAccountCount") int maxAccountCount);
+
+    @Modifying
+    @Query("update AccountUser u set u.accountCount = u.accountCount - 1" +
+            " where u.id = :userId and u.accountCount > 0")
+    int decrementAccountCount(@Param("userId") Long userId);
 }
@@ -1,12 +1,90 @@
 package com.example.account.repository;
 
 import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    // 거래 조회 캐시의 로더. 캐시 적중 시에는 트랜잭션을 열지 않도록 조회에만 읽기 전용 트랜잭션을 검
+    @Transactional(readOnly = true)
+    @Query("select new com.example.account.dto.TransactionDto(" +
+            " a.accountNumber, t.transactionType, t.transactionResultType," +
+            " t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt)" +
+            " from Transaction t join t.account a" +
+            " where t.transactionId = :transactionId")
+    Optional<TransactionDto> findDtoByTransactionId(
+            @Param("transactionId") String transactionId);
+
+    // (transacted_at, id) 기준 keyset 페이지. 첫 페이지는 커서 대신 조회 기간의 끝을 넘긴다.
+    // OR 조건만으로는 인덱스 범위가 정해지지 않으므로 transactedAt <= :cursorAt 을 따로 건다.
+    @Query("select t from Transaction t" +
+            " where t.account.id = :accountId" +
+            " and t.transactedAt >= :from" +
+            " and t.transactedAt <= :cursorAt" +
+            " and (t.transactedAt < :cursorAt" +
+            " or (t.transactedAt = :cursorAt and t.id < :cursorId))" +
+            " and (:transactionType is null or t.transactionType = :transactionType)" +
+            " and (:transactionResultType is null" +
+            " or t.transactionResultType = :transactionResultType)" +
+            " order by t.transactedAt desc, t.id desc")
+    List<Transaction> findHistory(
+            @Param("accountId") Long accountId,
+            @Param("from") LocalDateTime from,
+            @Param("cursorAt") LocalDateTime cursorAt,
+            @Param("cursorId") Long cursorId,
+            @Param("transactionType") TransactionType transactionType,
+            @Param("transactionResultType") TransactionResultType transactionResultType,
+            Pageable pageable);
+
+    // 엔티티 대신 DTO 로 읽어 영속성 컨텍스트에 쌓이지 않게 하고, 드라이버에서 나눠서 가져온다
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select new com.example.account.dto.TransactionDto(" +
+            " a.accountNumber, t.transactionType, t.transactionResultType," +
+            " t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt)" +
+            " from Transaction t join t.account a" +
+            " where a.accountNumber = :accountNumber" +
+            " and t.transactedAt >= :from and t.transactedAt < :to" +
+            " order by t.transactedAt, t.id")
+    Stream<TransactionDto> streamForExport(
+            @Param("accountNumber") String accountNumber,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    // 전체 계좌. 계좌 조건을 null 허용으로 합치면 계좌별 내보내기가 인덱스를 못 타므로 따로 둔다
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select new com.example.account.dto.TransactionDto(" +
+            " a.accountNumber, t.transactionType, t.transactionResultType," +
+            " t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt)" +
+            " from Transaction t join t.account a" +
+            " where t.transactedAt >= :from and t.transactedAt < :to" +
+            " order by t.transactedAt, t.id")
+    Stream<TransactionDto> streamAllForExport(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
 }
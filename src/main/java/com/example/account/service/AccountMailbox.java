@@ -0,0 +1,116 @@
+package com.example.account.service;
+
+import com.example.account.config.LockProperties;
+import com.example.account.exception.AccountException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+
+/**
+ * 계좌번호별 단일 작성자 큐. 같은 계좌의 작업은 제출 순서대로 하나씩 실행된다.
+ * 같은 JVM 안에서만 순서를 보장하므로 계좌별로 요청이 한 노드에 모이는 배포에서 사용한다.
+ * 동기 요청은 awaitTurn 으로 같은 큐에 줄을 서서 비동기 요청과 서로 배타적으로 실행된다.
+ */
+@Slf4j
+@Component
+public class AccountMailbox {
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    public AccountMailbox(LockProperties lockProperties) {
+        this.capacity = lockProperties.getMailboxCapacity();
+    }
+
+    public <T> CompletableFuture<T> submit(String accountNumber,
+                                           Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Holder holder = new Holder();
+
+        lanes.compute(accountNumber, (key, lane) -> {
+            Lane current = lane == null ? new Lane() : lane;
+            if (current.pending >= capacity) {
+                log.error("======Mailbox is full : {}======", accountNumber);
+                throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+            }
+
+            current.pending++;
+            holder.previous = current.tail;
+            current.tail = done;
+            return current;
+        });
+
+        // 앞 작업이 끝나야(성공/실패 무관) 다음 작업 실행
+        return holder.previous
+                .thenCompose(ignored -> invoke(task))
+                .whenComplete((result, e) -> {
+                    release(accountNumber);
+                    done.complete(null);
+                });
+    }
+
+    /**
+     * 동기 호출용. 앞 작업이 끝날 때까지 기다렸다가 반환하고, 작업은 호출 스레드에서 실행한다.
+     * 반환된 Runnable 을 실행해야 다음 작업으로 넘어간다.
+     */
+    public Runnable awaitTurn(String accountNumber, long waitTimeMillis) {
+        CompletableFuture<Void> turn = new CompletableFuture<>();
+        CompletableFuture<Void> finished = new CompletableFuture<>();
+        Runnable release = () -> finished.complete(null);
+
+        submit(accountNumber, () -> {
+            turn.complete(null);
+            return finished;
+        });
+
+        try {
+            turn.get(waitTimeMillis, TimeUnit.MILLISECONDS);
+            return release;
+        } catch (TimeoutException | ExecutionException e) {
+            // 차례가 와도 바로 넘어가도록 완료 처리
+            release.run();
+            log.error("======Mailbox wait timeout : {}======", accountNumber);
+            throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+        } catch (InterruptedException e) {
+            release.run();
+            Thread.currentThread().interrupt();
+            throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    int pendingCount(String accountNumber) {
+        Lane lane = lanes.get(accountNumber);
+        return lane == null ? 0 : lane.pending;
+    }
+
+    private void release(String accountNumber) {
+        lanes.computeIfPresent(accountNumber,
+                (key, lane) -> --lane.pending == 0 ? null : lane);
+    }
+
+    private static <T> CompletableFuture<T> invoke(Supplier<CompletableFuture<T>> task) {
+        try {
+            return task.get();
+        } catch (Throwable e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private static class Lane {
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        private int pending;
+    }
+
+    private static class Holder {
+        private CompletableFuture<Void> previous;
+    }
+}
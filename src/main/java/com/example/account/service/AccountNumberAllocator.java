@@ -0,0 +1,47 @@
+package com.example.account.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * hi/lo 방식 계좌번호 발급기. DB 시퀀스에서 블록 번호(hi)만 받아오고
+ * 블록 안의 번호(lo)는 메모리에서 순서대로 나눠준다.
+ * 블록을 받아오는 동안 DB 호출을 기다리므로 synchronized 대신 ReentrantLock 을 써서
+ * 가상 스레드가 캐리어 스레드를 붙잡지 않게 한다.
+ */
+@Component
+public class AccountNumberAllocator {
+    private static final long ACCOUNT_NUMBER_BASE = 1_000_000_000L;
+    private static final String NEXT_BLOCK_SQL = "select next value for account_number_seq";
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+
+    private long next;
+    private long limit;
+
+    public AccountNumberAllocator(JdbcTemplate jdbcTemplate,
+                                  @Value("${account.account-number.block-size}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+    }
+
+    public String allocate() {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                Long block = jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class);
+                next = ACCOUNT_NUMBER_BASE + block * blockSize;
+                limit = next + blockSize;
+            }
+
+            return String.valueOf(next++);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
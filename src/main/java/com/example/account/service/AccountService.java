@@ -4,19 +4,18 @@ import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
 import com.example.account.exception.AccountException;
-import com.example.account.repository.AccountUserRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
 import com.example.account.type.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
-import java.util.Random;
 import java.util.stream.Collectors;
 
 import static com.example.account.type.AccountStatus.*;
@@ -25,62 +24,61 @@ import static com.example.account.type.ErrorCode.*;
 @Service
 @RequiredArgsConstructor
 public class AccountService {
+    public static final int MAX_ACCOUNT_COUNT = 10;
+
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
-
-    @Transactional
+    private final AccountUserCache accountUserCache;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final ShardResolver shardResolver;
+    private final ShardTemplate shardTemplate;
+
+    /**
+     * 사용자의 계좌 수 카운터를 먼저 조건부로 올려서 한도를 확보하고,
+     * 새 계좌번호가 저장할 샤드를 정하므로 번호를 발급한 뒤 그 샤드의 트랜잭션에서 저장한다.
+     */
     public AccountDto createAccount(Long userId, Long initialBalance) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
+        AccountUser accountUser = accountUserCache.findById(userId)
                 .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
 
-        validateCreateAccount(accountUser);
-
-        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
-                .map(account -> (Long.parseLong(account.getAccountNumber())) + 1 + "")
-                .orElse(createAccountNumber());
-
-        validateDuplicatedAccountNumber(newAccountNumber);
-
-        return AccountDto.fromEntity(
-            accountRepository.save(Account.builder()
-                    .accountUser(accountUser)
-                    .accountStatus(IN_USE)
-                    .accountNumber(newAccountNumber)
-                    .balance(initialBalance)
-                    .registeredAt(LocalDateTime.now())
-                    .build())
-        );
-    }
-
-    private void validateDuplicatedAccountNumber(String newAccountNumber) {
-        if(accountRepository.findByAccountNumber(newAccountNumber).isPresent()) {
-            throw new AccountException(DUPLICATED_ACCOUNTNUMBER);
+        reserveAccountCount(userId);
+
+        AccountDto accountDto;
+        try {
+            // 미리 예약한 블록에서 발급하므로 추가 조회나 중복 검사가 필요 없음
+            String newAccountNumber = accountNumberAllocator.allocate();
+
+            accountDto = shardTemplate.inShard(shardResolver.shardOfAccount(newAccountNumber), () ->
+                    AccountDto.fromEntity(
+                            accountRepository.save(Account.builder()
+                                    .accountUser(accountUser)
+                                    .accountStatus(IN_USE)
+                                    .accountNumber(newAccountNumber)
+                                    .balance(initialBalance)
+                                    .registeredAt(LocalDateTime.now())
+                                    .build())
+                    ));
+        } catch (RuntimeException e) {
+            releaseAccountCount(userId);
+            throw e;
         }
-    }
-
-    private String createAccountNumber() {
-        Random random = new Random();
-        String accountNumber = "";
 
-        for (int i = 0; i < 10; i++) {
-            int randomNum = random.nextInt(9);
+        return accountDto;
+    }
 
-            // 계좌번호 첫 자리 숫자가 0일 경우 재생성
-            if(i == 0 && randomNum == 0) {
-                --i;
-                continue;
-            }
+    // 카운터는 0번 샤드의 사용자 행 기준. 조건부 update 라서 동시에 생성해도 한도를 넘지 않음
+    private void reserveAccountCount(Long userId) {
+        int updated = shardTemplate.inShard(ShardResolver.HOME_SHARD,
+                () -> accountUserRepository.incrementAccountCount(userId, MAX_ACCOUNT_COUNT));
 
-            accountNumber += randomNum;
+        if (updated == 0) {
+            throw new AccountException(MAX_ACCOUNT_PER_USER_10);
         }
-
-        return accountNumber;
     }
 
-    private void validateCreateAccount(AccountUser accountUser) {
-        if (accountRepository.countByAccountUser(accountUser) == 10) {
-            throw new AccountException(MAX_ACCOUNT_PER_USER_10);
-        }
+    private void releaseAccountCount(Long userId) {
+        shardTemplate.inShard(ShardResolver.HOME_SHARD,
+                () -> accountUserRepository.decrementAccountCount(userId));
     }
 
     @Transactional
@@ -92,11 +90,22 @@ public class AccountService {
         return accountRepository.findById(id).get();
     }
 
-    @Transactional
+    /**
+     * 계좌의 샤드에서 해지가 커밋된 뒤에 카운터를 내린다.
+     */
     public AccountDto deleteAccount(long userId, String accountNumber) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
+        AccountUser accountUser = accountUserCache.findById(userId)
                 .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
 
+        AccountDto accountDto = shardTemplate.inShard(shardResolver.shardOfAccount(accountNumber),
+                () -> unregisterAccount(accountUser, accountNumber));
+
+        releaseAccountCount(userId);
+
+        return accountDto;
+    }
+
+    private AccountDto unregisterAccount(AccountUser accountUser, String accountNumber) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
 
@@ -124,15 +133,16 @@ public class AccountService {
         }
     }
 
-    @Transactional
     public List<AccountDto> getAccountsByUserId(Long userId) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
-
-        List<Account> accounts = accountRepository.findByAccountUser(accountUser);
+        if (!accountUserCache.existsById(userId)) {
+            throw new AccountException(USER_NOT_FOUND);
+        }
 
-        return accounts.stream()
-                .map(AccountDto::fromEntity)
+        // 사용자의 계좌는 여러 샤드에 흩어져 있으므로 샤드마다 읽어서 합침
+        return shardTemplate.readAllShards(() -> accountRepository.findDtosByUserId(userId))
+                .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(AccountDto::getAccountNumber))
                 .collect(Collectors.toList());
     }
 
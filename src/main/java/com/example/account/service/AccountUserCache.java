@@ -0,0 +1,43 @@
+package com.example.account.service;
+
+import com.example.account.domain.AccountUser;
+import com.example.account.repository.AccountUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 near cache.
+ * 사용자는 거의 바뀌지 않으므로 요청마다 조회하지 않는다. 사용자를 바꾸는 경로가 없어서 무효화는 하지 않고,
+ * 오래된 값이 남는 시간은 account.user-cache.ttl-millis 로만 제한된다.
+ * 캐시에 든 AccountUser 는 준영속 상태이므로 id 비교나 연관관계 참조로만 사용한다.
+ */
+@Component
+public class AccountUserCache {
+    private final AccountUserRepository accountUserRepository;
+    private final Cache<Long, AccountUser> users;
+
+    public AccountUserCache(AccountUserRepository accountUserRepository,
+                            @Value("${account.user-cache.max-size:100000}") long maxSize,
+                            @Value("${account.user-cache.ttl-millis:600000}") long ttlMillis) {
+        this.accountUserRepository = accountUserRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public Optional<AccountUser> findById(Long userId) {
+        // 없는 사용자는 캐시하지 않음 (loader 가 null 을 돌려주면 저장되지 않음)
+        return Optional.ofNullable(users.get(userId,
+                key -> accountUserRepository.findById(key).orElse(null)));
+    }
+
+    public boolean existsById(Long userId) {
+        return findById(userId).isPresent();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.dto.FailedTransaction;
+import com.example.account.type.FailedRecordOverflow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실패 거래 기록기. 요청 스레드는 큐에 넣기만 하고, 백그라운드 스레드가 모아서 한 번에 저장한다.
+ */
+@Slf4j
+@Component
+public class FailedTransactionRecorder {
+    private final TransactionService transactionService;
+    private final BlockingQueue<FailedTransaction> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final FailedRecordOverflow overflow;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public FailedTransactionRecorder(TransactionService transactionService,
+                                     TransactionProperties transactionProperties) {
+        this.transactionService = transactionService;
+        this.queue = new ArrayBlockingQueue<>(
+                transactionProperties.getFailedRecordQueueCapacity());
+        this.batchSize = transactionProperties.getFailedRecordBatchSize();
+        this.flushIntervalMillis = transactionProperties.getFailedRecordFlushIntervalMillis();
+        this.overflow = transactionProperties.getFailedRecordOverflow();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "failed-transaction-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void record(FailedTransaction failedTransaction) {
+        if (queue.offer(failedTransaction)) {
+            return;
+        }
+
+        if (overflow == FailedRecordOverflow.DROP) {
+            log.error("======Failed transaction dropped : {} (total {})======",
+                    failedTransaction.getAccountNumber(), dropped.incrementAndGet());
+            return;
+        }
+
+        write(Collections.singletonList(failedTransaction));
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        // 종료 전에 남은 기록을 모두 저장
+        int flushed;
+        do {
+            flushed = flush();
+        } while (flushed > 0);
+    }
+
+    int flush() {
+        List<FailedTransaction> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+        return batch.size();
+    }
+
+    int pendingCount() {
+        return queue.size();
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                FailedTransaction first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<FailedTransaction> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<FailedTransaction> batch) {
+        try {
+            transactionService.saveFailedTransactions(batch);
+        } catch (Exception e) {
+            log.error("Failed to save failed transactions : {}", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.account.service;
+
+import com.example.account.aop.Idempotent;
+import com.example.account.dto.IdempotentRecord;
+import com.example.account.exception.AccountException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.account.type.ErrorCode.*;
+
+/**
+ * 락보다 먼저 실행되어야 재요청이 락을 다시 잡지 않으므로 가장 바깥에서 감싼다.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    @Around("@annotation(idempotent)")
+    public Object aroundMethod(ProceedingJoinPoint pjp, Idempotent idempotent) throws Throwable {
+        String key = currentIdempotencyKey();
+        if (key == null) {
+            return pjp.proceed();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+
+        MethodSignature signature = (MethodSignature) pjp.getSignature();
+        boolean async = CompletableFuture.class.isAssignableFrom(signature.getReturnType());
+        String fingerprint = fingerprint(pjp);
+
+        IdempotentRecord inProgress = IdempotentRecord.inProgress(fingerprint);
+        IdempotentRecord existing = idempotencyStore.begin(key, inProgress);
+        if (existing != null) {
+            return replay(existing, fingerprint, responseType(signature, async), async);
+        }
+
+        Object result;
+        try {
+            result = pjp.proceed();
+        } catch (Throwable e) {
+            idempotencyStore.abandon(key, inProgress);
+            throw e;
+        }
+
+        if (async) {
+            return ((CompletableFuture<?>) result).whenComplete((response, e) -> {
+                if (e != null) {
+                    idempotencyStore.abandon(key, inProgress);
+                } else {
+                    complete(key, fingerprint, response);
+                }
+            });
+        }
+
+        complete(key, fingerprint, result);
+        return result;
+    }
+
+    private Object replay(IdempotentRecord existing, String fingerprint,
+                          JavaType responseType, boolean async) throws JsonProcessingException {
+        if (!fingerprint.equals(existing.getFingerprint())) {
+            throw new AccountException(IDEMPOTENCY_KEY_REUSED);
+        }
+        if (!existing.isCompleted()) {
+            throw new AccountException(IDEMPOTENT_REQUEST_IN_PROGRESS);
+        }
+
+        Object response = objectMapper.readValue(existing.getResponse(), responseType);
+        return async ? CompletableFuture.completedFuture(response) : response;
+    }
+
+    private void complete(String key, String fingerprint, Object response) {
+        try {
+            idempotencyStore.complete(key, fingerprint,
+                    objectMapper.writeValueAsString(response));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // 거래는 이미 처리됐으므로 요청은 성공시키고, 처리 중 표시가 만료될 때까지 재요청은 거절됨
+            log.error("Failed to store idempotent response. key={}", key, e);
+        }
+    }
+
+    // 같은 키로 다른 엔드포인트나 다른 요청 본문이 오는 것을 막기 위한 해시
+    private String fingerprint(ProceedingJoinPoint pjp) throws JsonProcessingException {
+        String request = pjp.getSignature().toShortString()
+                + objectMapper.writeValueAsString(pjp.getArgs());
+
+        return DigestUtils.md5DigestAsHex(request.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private JavaType responseType(MethodSignature signature, boolean async) {
+        JavaType returnType = objectMapper.getTypeFactory()
+                .constructType(signature.getMethod().getGenericReturnType());
+
+        return async ? returnType.containedType(0) : returnType;
+    }
+
+    private static String currentIdempotencyKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+
+        String key = ((ServletRequestAttributes) attributes).getRequest()
+                .getHeader(IDEMPOTENCY_KEY_HEADER);
+        return key == null || key.isEmpty() ? null : key;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.account.service;
+
+import com.example.account.config.IdempotencyProperties;
+import com.example.account.dto.IdempotentRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.TypedJsonJacksonCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idempotency-Key 별 처리 상태와 응답 저장소. Redis 를 쓰지 않으면 노드 로컬 Caffeine 에 저장한다.
+ * 처리 중 표시는 짧게, 완료된 응답은 길게 보관한다.
+ */
+@Component
+public class IdempotencyStore {
+    private static final String REMOTE_STORE_NAME = "idempotentRecord";
+
+    private final IdempotencyProperties idempotencyProperties;
+    private final Cache<String, IdempotentRecord> local;
+    private final RMapCache<String, IdempotentRecord> remote;
+
+    public IdempotencyStore(IdempotencyProperties idempotencyProperties,
+                            RedissonClient redissonClient,
+                            ObjectMapper objectMapper) {
+        this.idempotencyProperties = idempotencyProperties;
+        this.local = idempotencyProperties.isRedisEnabled() ? null : Caffeine.newBuilder()
+                .maximumSize(idempotencyProperties.getLocalMaxSize())
+                .expireAfter(new Expiry<String, IdempotentRecord>() {
+                    @Override
+                    public long expireAfterCreate(String key, IdempotentRecord record,
+                                                  long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(ttlMillisOf(record));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, IdempotentRecord record,
+                                                  long currentTime, long currentDuration) {
+                        return TimeUnit.MILLISECONDS.toNanos(ttlMillisOf(record));
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, IdempotentRecord record,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.remote = idempotencyProperties.isRedisEnabled()
+                ? redissonClient.getMapCache(REMOTE_STORE_NAME, new TypedJsonJacksonCodec(
+                        String.class, IdempotentRecord.class, objectMapper))
+                : null;
+    }
+
+    /**
+     * 처리 중으로 표시한다. 이미 기록이 있으면 표시하지 않고 기존 기록을 돌려준다.
+     */
+    public IdempotentRecord begin(String key, IdempotentRecord inProgress) {
+        if (remote == null) {
+            return local.asMap().putIfAbsent(key, inProgress);
+        }
+
+        return remote.putIfAbsent(key, inProgress,
+                idempotencyProperties.getInProgressTtlMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void complete(String key, String fingerprint, String response) {
+        IdempotentRecord completed = IdempotentRecord.completed(fingerprint, response);
+        if (remote == null) {
+            local.put(key, completed);
+            return;
+        }
+
+        remote.fastPut(key, completed,
+                idempotencyProperties.getTtlMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 실패한 요청은 저장하지 않고 같은 키로 다시 시도할 수 있게 한다.
+     * 처리 중 표시가 만료된 뒤 다른 요청이 키를 차지했을 수 있으므로 자신의 표시일 때만 지운다.
+     */
+    public void abandon(String key, IdempotentRecord inProgress) {
+        if (remote == null) {
+            local.asMap().remove(key, inProgress);
+            return;
+        }
+
+        remote.remove(key, inProgress);
+    }
+
+    private long ttlMillisOf(IdempotentRecord record) {
+        return record.isCompleted()
+                ? idempotencyProperties.getTtlMillis()
+                : idempotencyProperties.getInProgressTtlMillis();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.account.service;
+
+import com.example.account.config.LockProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class LocalLockTier {
+    private final boolean enabled;
+    private final ReentrantLock[] stripes;
+
+    public LocalLockTier(LockProperties lockProperties) {
+        this.enabled = lockProperties.isLocalTierEnabled();
+
+        int size = Integer.highestOneBit(Math.max(1, lockProperties.getLocalStripes() - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            // 공정 락으로 먼저 온 요청부터 Redis 에 접근
+            stripes[i] = new ReentrantLock(true);
+        }
+    }
+
+    public boolean tryLock(String accountNumber, long waitTime, TimeUnit unit)
+            throws InterruptedException {
+        if (!enabled) {
+            return true;
+        }
+
+        return stripeOf(accountNumber).tryLock(waitTime, unit);
+    }
+
+    public void unlock(String accountNumber) {
+        if (!enabled) {
+            return;
+        }
+
+        ReentrantLock lock = stripeOf(accountNumber);
+        if (lock.isHeldByCurrentThread()) {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 여러 계좌를 잡을 때의 순서. 스트라이프마다 계좌 하나만 남기고 스트라이프 번호 순으로 정렬한다.
+     * 계좌번호 순서로 잡으면 서로 다른 계좌 쌍이 같은 두 스트라이프를 반대 순서로 잡을 수 있다.
+     */
+    public List<String> lockOrder(Collection<String> accountNumbers) {
+        TreeMap<Integer, String> byStripe = new TreeMap<>();
+        accountNumbers.stream()
+                .sorted(Comparator.naturalOrder())
+                .forEach(accountNumber ->
+                        byStripe.putIfAbsent(stripeIndexOf(accountNumber), accountNumber));
+
+        return new ArrayList<>(byStripe.values());
+    }
+
+    int stripeIndexOf(String accountNumber) {
+        int hash = accountNumber.hashCode();
+        hash ^= (hash >>> 16);
+
+        return hash & (stripes.length - 1);
+    }
+
+    private ReentrantLock stripeOf(String accountNumber) {
+        return stripes[stripeIndexOf(accountNumber)];
+    }
+}
@@ -1,32 +1,198 @@
 package com.example.account.service;
 
+import com.example.account.aop.AccountLock;
 import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.aop.AccountLockIdsInterface;
+import com.example.account.config.LockPolicy;
+import com.example.account.config.LockProperties;
+import com.example.account.exception.AccountException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.example.account.type.AsyncLockMode.SERIAL_QUEUE;
+import static com.example.account.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+import static com.example.account.type.LockStrategy.NONE;
+import static com.example.account.type.LockStrategy.OPTIMISTIC;
+
 @Aspect
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class LockAopAspect {
     private final LockService lockService;
+    private final AccountMailbox accountMailbox;
+    private final LockProperties lockProperties;
+    private final LockMetrics lockMetrics;
+    private final VersionConflictRetry versionConflictRetry;
 
-    @Around("@annotation(com.example.account.aop.AccountLock) && args(request)")
+    @Around("@annotation(accountLock) && args(request)" +
+            " && !execution(java.util.concurrent.CompletableFuture *(..))")
     public Object aroundMethod(ProceedingJoinPoint pjp,
+                               AccountLock accountLock,
                                AccountLockIdInterface request
     ) throws Throwable {
+        LockPolicy policy = lockProperties.policyOf(accountLock);
+        if (policy.getStrategy() == NONE) {
+            return pjp.proceed();
+        }
+        if (policy.getStrategy() == OPTIMISTIC) {
+            // 락 없이 실행하고 버전 충돌 시에만 제한된 횟수로 재시도
+            return versionConflictRetry.run(pjp::proceed);
+        }
+        if (lockProperties.getAsyncMode() == SERIAL_QUEUE) {
+            // 비동기 요청과 같은 계좌별 큐에 줄을 서서 실행
+            Runnable release = accountMailbox.awaitTurn(
+                    request.getAccountNumber(), policy.getWaitTimeMillis());
+            try {
+                return versionConflictRetry.run(pjp::proceed);
+            } finally {
+                release.run();
+            }
+        }
+
         // lock 취득 시도
-        lockService.lock(request.getAccountNumber());
+        lockService.lock(request.getAccountNumber(), policy);
+        long acquiredAt = System.nanoTime();
 
         try {
-            return pjp.proceed();
+            // 락 없이 도는 조건부 UPDATE 차감과 버전이 겹치면 락을 쥔 채로 다시 실행
+            return versionConflictRetry.run(pjp::proceed);
         } finally {
+            lockMetrics.recordHeld(System.nanoTime() - acquiredAt);
             // lock 이 취득되든 실패되든 해제
             lockService.unlock(request.getAccountNumber());
         }
     }
+
+    @Around("@annotation(accountLock) && args(request)")
+    public Object aroundMultiAccountMethod(ProceedingJoinPoint pjp,
+                                           AccountLock accountLock,
+                                           AccountLockIdsInterface request
+    ) throws Throwable {
+        LockPolicy policy = lockProperties.policyOf(accountLock);
+        if (policy.getStrategy() == NONE) {
+            return pjp.proceed();
+        }
+        if (policy.getStrategy() == OPTIMISTIC) {
+            return versionConflictRetry.run(pjp::proceed);
+        }
+        if (lockProperties.getAsyncMode() == SERIAL_QUEUE) {
+            return proceedInMailboxes(pjp, request.getAccountNumbers(), policy);
+        }
+
+        // 여러 계좌를 정해진 순서로 한 번에 취득
+        lockService.lockAll(request.getAccountNumbers(), policy);
+        long acquiredAt = System.nanoTime();
+
+        try {
+            return versionConflictRetry.run(pjp::proceed);
+        } finally {
+            lockMetrics.recordHeld(System.nanoTime() - acquiredAt);
+            lockService.unlockAll(request.getAccountNumbers());
+        }
+    }
+
+    @Around("@annotation(accountLock) && args(request)" +
+            " && execution(java.util.concurrent.CompletableFuture *(..))")
+    public Object aroundAsyncMethod(ProceedingJoinPoint pjp,
+                                    AccountLock accountLock,
+                                    AccountLockIdInterface request
+    ) {
+        String accountNumber = request.getAccountNumber();
+
+        LockPolicy policy = lockProperties.policyOf(accountLock);
+        if (policy.getStrategy() == NONE) {
+            return proceedAsync(pjp);
+        }
+        if (policy.getStrategy() == OPTIMISTIC) {
+            return proceedRetryingAsync(pjp, 1);
+        }
+
+        if (lockProperties.getAsyncMode() == SERIAL_QUEUE) {
+            // 분산 락 없이 계좌별 큐에서 순서대로 실행
+            return accountMailbox.submit(accountNumber, () -> proceedRetryingAsync(pjp, 1));
+        }
+
+        // 호출 스레드에서 해제하지 않고 작업 완료 시점에 해제
+        return lockService.lockAsync(accountNumber, policy)
+                .thenCompose(ownerId -> {
+                    long acquiredAt = System.nanoTime();
+
+                    return proceedRetryingAsync(pjp, 1)
+                            .whenComplete((result, e) -> {
+                                lockMetrics.recordHeld(System.nanoTime() - acquiredAt);
+                                lockService.unlockAsync(accountNumber, ownerId)
+                                        .whenComplete((unused, unlockError) -> {
+                                            if (unlockError != null) {
+                                                log.error("Redis Unlock Failed", unlockError);
+                                            }
+                                        });
+                            });
+                });
+    }
+
+    private Object proceedInMailboxes(ProceedingJoinPoint pjp,
+                                      List<String> accountNumbers,
+                                      LockPolicy policy) throws Throwable {
+        // 락과 같은 순서(정렬, 중복 제거)로 계좌별 큐에 줄을 서야 서로 기다리며 멈추지 않음
+        List<Runnable> releases = new ArrayList<>();
+        try {
+            for (String accountNumber : LockService.ordered(accountNumbers)) {
+                releases.add(accountMailbox.awaitTurn(accountNumber, policy.getWaitTimeMillis()));
+            }
+            return versionConflictRetry.run(pjp::proceed);
+        } finally {
+            for (int i = releases.size() - 1; i >= 0; i--) {
+                releases.get(i).run();
+            }
+        }
+    }
+
+    // 버전 충돌 시 제한된 횟수로 다시 실행 (VersionConflictRetry 의 비동기 버전)
+    private CompletableFuture<Object> proceedRetryingAsync(ProceedingJoinPoint pjp, int attempt) {
+        return proceedAsync(pjp)
+                .handle((result, e) -> {
+                    if (e == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null
+                            ? e.getCause() : e;
+                    if (!(cause instanceof OptimisticLockingFailureException)) {
+                        return failed(cause);
+                    }
+                    if (attempt >= lockProperties.getOptimisticMaxAttempts()) {
+                        log.error("======Optimistic lock retry exhausted======");
+                        return failed(new AccountException(ACCOUNT_TRANSACTION_LOCK));
+                    }
+                    log.debug("Optimistic lock conflict, attempt : {}", attempt);
+                    return proceedRetryingAsync(pjp, attempt + 1);
+                })
+                .thenCompose(future -> future);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> proceedAsync(ProceedingJoinPoint pjp) {
+        try {
+            return (CompletableFuture<Object>) pjp.proceed();
+        } catch (Throwable e) {
+            return failed(e);
+        }
+    }
+
+    private static CompletableFuture<Object> failed(Throwable e) {
+        CompletableFuture<Object> failed = new CompletableFuture<>();
+        failed.completeExceptionally(e);
+        return failed;
+    }
 }
@@ -0,0 +1,109 @@
+package com.example.account.service;
+
+import com.example.account.config.LockProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Component
+public class LockMetrics {
+    private final Timer acquiredTimer;
+    private final Timer failedTimer;
+    private final Timer holdTimer;
+    private final Counter failureCounter;
+    private final Cache<String, Contention> contentions;
+
+    public LockMetrics(MeterRegistry meterRegistry, LockProperties lockProperties) {
+        this.acquiredTimer = Timer.builder("account.lock.acquire")
+                .description("ACLK lock acquisition latency")
+                .tag("result", "acquired")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failedTimer = Timer.builder("account.lock.acquire")
+                .description("ACLK lock acquisition latency")
+                .tag("result", "failed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.holdTimer = Timer.builder("account.lock.hold")
+                .description("ACLK lock hold time")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("account.lock.failures")
+                .description("ACLK lock acquisition failures")
+                .register(meterRegistry);
+        // 계좌 수에 비례해 늘지 않도록 제한. 가득 차면 W-TinyLFU 가 자주 들어오는 계좌를 남기고
+        // 드문 계좌를 밀어내므로, 한 번씩 스친 계좌로 가득 찬 뒤에 뜨거워진 계좌도 추적됨
+        this.contentions = Caffeine.newBuilder()
+                .maximumSize(lockProperties.getMetricsMaxTrackedAccounts())
+                .build();
+    }
+
+    public void recordAcquired(String accountNumber, long waitNanos) {
+        acquiredTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        recordContention(accountNumber, waitNanos, false);
+    }
+
+    public void recordFailed(String accountNumber, long waitNanos) {
+        failedTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        failureCounter.increment();
+        recordContention(accountNumber, waitNanos, true);
+    }
+
+    public void recordHeld(long holdNanos) {
+        holdTimer.record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public List<HotAccount> hottest(int limit) {
+        contentions.cleanUp();
+
+        return contentions.asMap().entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingLong(HotAccount::getTotalWaitMillis).reversed()
+                        .thenComparing(Comparator.comparingLong(HotAccount::getRequests).reversed()))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private void recordContention(String accountNumber, long waitNanos, boolean failed) {
+        contentions.get(accountNumber, key -> new Contention()).record(waitNanos, failed);
+    }
+
+    private static class Contention {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+
+        private void record(long wait, boolean failed) {
+            requests.increment();
+            waitNanos.add(wait);
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        private HotAccount snapshot(String accountNumber) {
+            return new HotAccount(accountNumber, requests.sum(), failures.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos.sum()));
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class HotAccount {
+        private String accountNumber;
+        private long requests;
+        private long failures;
+        private long totalWaitMillis;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.account.service;
 
+import com.example.account.config.LockPolicy;
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
 import lombok.RequiredArgsConstructor;
@@ -8,23 +9,75 @@ import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
+import static com.example.account.type.BackoffStrategy.EXPONENTIAL_JITTER;
+import static com.example.account.type.BackoffStrategy.FAIL_FAST;
 import static com.example.account.type.ErrorCode.*;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LockService {
+    // 비동기 락은 스레드에 묶이지 않으므로 실제 스레드 id 와 겹치지 않는 음수 owner id 사용
+    private static final AtomicLong ASYNC_OWNER_SEQUENCE = new AtomicLong();
+
     private final RedissonClient redissonClient;
+    private final LocalLockTier localLockTier;
+    private final LockMetrics lockMetrics;
 
     public void lock(String accountNumber) {
-        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
-        log.debug("Trying lock for accountNumber : {}", accountNumber);
+        lock(accountNumber, LockPolicy.defaults());
+    }
+
+    public void lock(String accountNumber, LockPolicy policy) {
+        lock(Collections.singletonList(accountNumber), policy);
+    }
 
+    public void lockAll(Collection<String> accountNumbers, LockPolicy policy) {
+        // 데드락을 피하기 위해 항상 계좌번호 순서로 취득
+        lock(ordered(accountNumbers), policy);
+    }
+
+    private void lock(List<String> accountNumbers, LockPolicy policy) {
+        long start = System.nanoTime();
         try {
-            boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS);
+            acquire(accountNumbers, policy);
+        } catch (AccountException e) {
+            accountNumbers.forEach(accountNumber ->
+                    lockMetrics.recordFailed(accountNumber, System.nanoTime() - start));
+            throw e;
+        }
+        accountNumbers.forEach(accountNumber ->
+                lockMetrics.recordAcquired(accountNumber, System.nanoTime() - start));
+    }
+
+    private void acquire(List<String> accountNumbers, LockPolicy policy) {
+        log.debug("Trying lock for accountNumbers : {}", accountNumbers);
+        long waitTime = policy.getBackoff() == FAIL_FAST ? 0L : policy.getWaitTimeMillis();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTime);
+
+        // 같은 노드의 경쟁 요청은 로컬 락에서 먼저 대기하고 승자만 Redis 에 접근
+        List<String> localOrder = localLockTier.lockOrder(accountNumbers);
+        acquireLocal(localOrder, deadline);
+
+        RLock lock = redisLockOf(accountNumbers);
+
+        try {
+            boolean isLock = policy.getBackoff() == EXPONENTIAL_JITTER
+                    ? tryLockWithBackoff(lock, policy, deadline)
+                    : lock.tryLock(remainingMillis(deadline),
+                            policy.getLeaseTimeMillis(), TimeUnit.MILLISECONDS);
             if(!isLock) {
+                releaseLocal(localOrder);
                 log.error("======Lock acquisition failed======");
                 throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
             }
@@ -35,9 +88,123 @@ public class LockService {
         }
     }
 
+    private void acquireLocal(List<String> accountNumbers, long deadline) {
+        List<String> acquired = new ArrayList<>();
+
+        try {
+            for (String accountNumber : accountNumbers) {
+                if (!localLockTier.tryLock(accountNumber,
+                        remainingMillis(deadline), TimeUnit.MILLISECONDS)) {
+                    releaseLocal(acquired);
+                    log.error("======Local lock acquisition failed======");
+                    throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+                }
+                acquired.add(accountNumber);
+            }
+        } catch (InterruptedException e) {
+            releaseLocal(acquired);
+            Thread.currentThread().interrupt();
+            throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    private void releaseLocal(List<String> accountNumbers) {
+        for (int i = accountNumbers.size() - 1; i >= 0; i--) {
+            localLockTier.unlock(accountNumbers.get(i));
+        }
+    }
+
+    private RLock redisLockOf(List<String> accountNumbers) {
+        if (accountNumbers.size() == 1) {
+            return redissonClient.getLock(getLockKey(accountNumbers.get(0)));
+        }
+
+        return redissonClient.getMultiLock(accountNumbers.stream()
+                .map(accountNumber -> redissonClient.getLock(getLockKey(accountNumber)))
+                .toArray(RLock[]::new));
+    }
+
+    private static boolean tryLockWithBackoff(RLock lock, LockPolicy policy, long deadline)
+            throws InterruptedException {
+        long backoff = policy.getBackoffInitialMillis();
+
+        while (true) {
+            if (lock.tryLock(0L, policy.getLeaseTimeMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+
+            long remaining = remainingMillis(deadline);
+            if (remaining <= 0) {
+                return false;
+            }
+
+            // full jitter: [0, backoff) 구간에서 무작위로 대기
+            long sleep = Math.min(remaining,
+                    ThreadLocalRandom.current().nextLong(Math.max(1L, backoff)));
+            TimeUnit.MILLISECONDS.sleep(sleep);
+            backoff = Math.min(policy.getBackoffMaxMillis(), backoff * 2);
+        }
+    }
+
     public void unlock(String accountNumber) {
-        log.debug("Unlock for accountNumber : {}", accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+        unlock(Collections.singletonList(accountNumber));
+    }
+
+    public void unlockAll(Collection<String> accountNumbers) {
+        unlock(ordered(accountNumbers));
+    }
+
+    private void unlock(List<String> accountNumbers) {
+        log.debug("Unlock for accountNumbers : {}", accountNumbers);
+        try {
+            redisLockOf(accountNumbers).unlock();
+        } finally {
+            releaseLocal(localLockTier.lockOrder(accountNumbers));
+        }
+    }
+
+    public CompletableFuture<Long> lockAsync(String accountNumber) {
+        return lockAsync(accountNumber, LockPolicy.defaults());
+    }
+
+    public CompletableFuture<Long> lockAsync(String accountNumber, LockPolicy policy) {
+        log.debug("Trying async lock for accountNumber : {}", accountNumber);
+        long ownerId = -ASYNC_OWNER_SEQUENCE.incrementAndGet();
+        // 비동기 경로는 Redisson 의 해제 알림으로 대기하므로 FAIL_FAST 외에는 대기 시간만 적용
+        long waitTime = policy.getBackoff() == FAIL_FAST ? 0L : policy.getWaitTimeMillis();
+        long start = System.nanoTime();
+
+        return redissonClient.getLock(getLockKey(accountNumber))
+                .tryLockAsync(waitTime, policy.getLeaseTimeMillis(), TimeUnit.MILLISECONDS, ownerId)
+                .toCompletableFuture()
+                .thenApply(isLock -> {
+                    if (!isLock) {
+                        lockMetrics.recordFailed(accountNumber, System.nanoTime() - start);
+                        log.error("======Lock acquisition failed======");
+                        throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+                    }
+                    lockMetrics.recordAcquired(accountNumber, System.nanoTime() - start);
+                    return ownerId;
+                });
+    }
+
+    public CompletableFuture<Void> unlockAsync(String accountNumber, long ownerId) {
+        log.debug("Async unlock for accountNumber : {}", accountNumber);
+
+        return redissonClient.getLock(getLockKey(accountNumber))
+                .unlockAsync(ownerId)
+                .toCompletableFuture();
+    }
+
+    static List<String> ordered(Collection<String> accountNumbers) {
+        return accountNumbers.stream()
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static long remainingMillis(long deadline) {
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0L, deadline - System.nanoTime()));
     }
 
     private static String getLockKey(String accountNumber) {
@@ -0,0 +1,51 @@
+package com.example.account.service;
+
+import com.example.account.aop.ShardKey;
+import com.example.account.config.ShardContext;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * {@link ShardKey} 파라미터로 샤드를 정하고 메서드를 실행한다.
+ * 트랜잭션 어드바이스보다 바깥에서 실행되어야 트랜잭션 커넥션이 올바른 샤드에서 열린다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ShardKeyAspect {
+    private final ShardResolver shardResolver;
+
+    @Around("execution(* com.example.account.service..*(.., @com.example.account.aop.ShardKey (*), ..))")
+    public Object aroundShardedMethod(ProceedingJoinPoint pjp) throws Throwable {
+        Integer previous = ShardContext.bind(shardOf(pjp));
+        try {
+            return pjp.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private int shardOf(ProceedingJoinPoint pjp) {
+        Annotation[][] parameterAnnotations =
+                ((MethodSignature) pjp.getSignature()).getMethod().getParameterAnnotations();
+        Object[] args = pjp.getArgs();
+
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof ShardKey) {
+                    return shardResolver.shardOf(((ShardKey) annotation).value(), (String) args[i]);
+                }
+            }
+        }
+        return ShardContext.current();
+    }
+}
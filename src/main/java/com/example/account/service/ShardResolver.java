@@ -0,0 +1,58 @@
+package com.example.account.service;
+
+import com.example.account.type.ShardKeyType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계좌번호 해시로 샤드를 정한다. 거래는 계좌와 같은 샤드에 저장되고,
+ * 거래 ID 안의 샤드 자리({@link TransactionIdGenerator#SHARD_OFFSET})로 ID 만으로도 샤드를 찾는다.
+ */
+@Component
+public class ShardResolver {
+    // 샤딩하지 않는 사용자 카운터와 계좌번호 시퀀스는 0번 샤드를 기준으로 함
+    public static final int HOME_SHARD = 0;
+    private static final int MAX_SHARD_COUNT = 256;
+    private static final int TRANSACTION_ID_LENGTH = 32;
+
+    private final int shardCount;
+
+    public ShardResolver(@Value("${account.sharding.shard-count}") int shardCount) {
+        if (shardCount < 1 || shardCount > MAX_SHARD_COUNT) {
+            throw new IllegalArgumentException(
+                    "shard-count must be between 1 and " + MAX_SHARD_COUNT);
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(ShardKeyType type, String key) {
+        return type == ShardKeyType.TRANSACTION_ID
+                ? shardOfTransaction(key)
+                : shardOfAccount(key);
+    }
+
+    public int shardOfAccount(String accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), shardCount);
+    }
+
+    // 형식이 맞지 않는 ID 는 0번 샤드에서 찾다가 TRANSACTION_NOT_FOUND 가 된다
+    public int shardOfTransaction(String transactionId) {
+        if (shardCount == 1 || transactionId == null
+                || transactionId.length() != TRANSACTION_ID_LENGTH) {
+            return 0;
+        }
+
+        try {
+            int shard = Integer.parseInt(transactionId.substring(
+                    TransactionIdGenerator.SHARD_OFFSET,
+                    TransactionIdGenerator.SHARD_OFFSET + TransactionIdGenerator.SHARD_DIGITS), 16);
+            return shard < shardCount ? shard : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
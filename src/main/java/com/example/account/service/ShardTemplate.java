@@ -0,0 +1,58 @@
+package com.example.account.service;
+
+import com.example.account.config.ShardContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 지정한 샤드에서 새 트랜잭션으로 작업을 실행한다. 한 트랜잭션은 한 샤드에만 묶이므로
+ * 여러 샤드를 읽거나 쓰는 작업은 샤드마다 따로 실행한다.
+ */
+@Component
+public class ShardTemplate {
+    private final ShardResolver shardResolver;
+    private final TransactionTemplate writeTemplate;
+    private final TransactionTemplate readTemplate;
+
+    public ShardTemplate(ShardResolver shardResolver,
+                         PlatformTransactionManager transactionManager) {
+        this.shardResolver = shardResolver;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate.setReadOnly(true);
+    }
+
+    public <T> T inShard(int shard, Supplier<T> work) {
+        return bound(shard, () -> writeTemplate.execute(status -> work.get()));
+    }
+
+    public <T> T readInShard(int shard, Supplier<T> work) {
+        return bound(shard, () -> readTemplate.execute(status -> work.get()));
+    }
+
+    // 샤드 순서대로 실행한 결과
+    public <T> List<T> readAllShards(Supplier<T> work) {
+        List<T> results = new ArrayList<>();
+        for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+            results.add(readInShard(shard, work));
+        }
+        return results;
+    }
+
+    private static <T> T bound(int shard, Supplier<T> work) {
+        Integer previous = ShardContext.bind(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+}
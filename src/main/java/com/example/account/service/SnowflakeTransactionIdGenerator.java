@@ -0,0 +1,53 @@
+package com.example.account.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간순으로 정렬되는 거래 ID. 32자리 16진수 = 시각(ms, 48bit) + 노드(16bit) + 샤드(8bit) + 순번(56bit).
+ * 새 ID 가 항상 인덱스의 오른쪽 끝에 추가되어 B-tree 페이지 분할이 줄어든다.
+ */
+@Component
+@ConditionalOnProperty(name = "account.transaction-id.generator",
+        havingValue = "snowflake", matchIfMissing = true)
+public class SnowflakeTransactionIdGenerator implements TransactionIdGenerator {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final long MAX_NODE_ID = 0xFFFFL;
+
+    private final long nodeId;
+    private final AtomicLong lastMillis = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SnowflakeTransactionIdGenerator(
+            @Value("${account.transaction-id.node-id}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String generate(int shard) {
+        // 시계가 뒤로 가도 시각 부분은 줄어들지 않게 유지
+        long millis = lastMillis.accumulateAndGet(System.currentTimeMillis(), Math::max);
+        long seq = sequence.incrementAndGet();
+
+        char[] id = new char[32];
+        writeHex(id, 0, millis, 12);
+        writeHex(id, 12, nodeId, 4);
+        writeHex(id, SHARD_OFFSET, shard, SHARD_DIGITS);
+        writeHex(id, SHARD_OFFSET + SHARD_DIGITS, seq, 14);
+
+        return new String(id);
+    }
+
+    private static void writeHex(char[] target, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            target[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.dto.TransactionDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.TypedJsonJacksonCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 거래 조회 캐시. 거래 내역은 기록 후 바뀌지 않으므로 무효화 없이 크기와 TTL 로만 만료한다.
+ * L1 은 프로세스 내 Caffeine, L2 는 선택적으로 Redis.
+ */
+@Slf4j
+@Component
+public class TransactionCache {
+    private static final String REMOTE_CACHE_NAME = "transactionDto";
+
+    private final Cache<String, TransactionDto> local;
+    private final RMapCache<String, TransactionDto> remote;
+    private final long ttlMillis;
+
+    public TransactionCache(TransactionProperties transactionProperties,
+                            RedissonClient redissonClient,
+                            ObjectMapper objectMapper) {
+        this.ttlMillis = transactionProperties.getCacheTtlMillis();
+        this.local = Caffeine.newBuilder()
+                .maximumSize(transactionProperties.getCacheMaxSize())
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.remote = transactionProperties.isCacheRedisEnabled()
+                ? redissonClient.getMapCache(REMOTE_CACHE_NAME, new TypedJsonJacksonCodec(
+                        String.class, TransactionDto.class, objectMapper))
+                : null;
+    }
+
+    public TransactionDto get(String transactionId, Function<String, TransactionDto> loader) {
+        // 같은 키의 동시 조회는 한 번만 로드
+        return local.get(transactionId, key -> loadThroughRemote(key, loader));
+    }
+
+    private TransactionDto loadThroughRemote(String transactionId,
+                                             Function<String, TransactionDto> loader) {
+        if (remote == null) {
+            return loader.apply(transactionId);
+        }
+
+        TransactionDto cached = remote.get(transactionId);
+        if (cached != null) {
+            return cached;
+        }
+
+        TransactionDto loaded = loader.apply(transactionId);
+        remote.fastPutAsync(transactionId, loaded, ttlMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.error("Failed to put transaction cache", e);
+                    }
+                });
+
+        return loaded;
+    }
+}
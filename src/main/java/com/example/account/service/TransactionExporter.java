@@ -0,0 +1,122 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 거래 내역 내보내기. 커서로 한 행씩 읽어 바로 출력하므로 행 수와 무관하게 메모리 사용량이 일정하다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionExporter {
+    private static final LocalDateTime EXPORT_BEGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime EXPORT_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final String CSV_HEADER = "transactionId,accountNumber,transactionType," +
+            "transactionResult,amount,balanceSnapshot,transactedAt";
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    private final ShardResolver shardResolver;
+    private final ShardTemplate shardTemplate;
+
+    /**
+     * 스트림을 읽는 동안 커넥션이 열려 있어야 하므로 샤드마다 읽기 트랜잭션 안에서 출력까지 마친다.
+     * 전체 계좌를 내보낼 때는 샤드 순서대로 이어 붙이므로 정렬은 샤드 안에서만 보장된다.
+     *
+     * @param accountNumber null 이면 전체 계좌
+     * @param from          포함, null 이면 처음부터
+     * @param to            미포함, null 이면 끝까지
+     * @return 내보낸 행 수
+     */
+    public long export(String accountNumber, LocalDateTime from, LocalDateTime to,
+                       ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        List<Integer> shards = accountNumber != null
+                ? Collections.singletonList(shardResolver.shardOfAccount(accountNumber))
+                : IntStream.range(0, shardResolver.getShardCount()).boxed()
+                        .collect(Collectors.toList());
+
+        long count = 0;
+        try {
+            for (int shard : shards) {
+                count += shardTemplate.readInShard(shard, () -> exportShard(accountNumber,
+                        from != null ? from : EXPORT_BEGIN,
+                        to != null ? to : EXPORT_END,
+                        format, writer));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+
+        return count;
+    }
+
+    private long exportShard(String accountNumber, LocalDateTime from, LocalDateTime to,
+                             ExportFormat format, Writer writer) {
+        try (Stream<TransactionDto> transactions = accountNumber != null
+                ? transactionRepository.streamForExport(accountNumber, from, to)
+                : transactionRepository.streamAllForExport(from, to)) {
+            return format == ExportFormat.CSV
+                    ? writeCsv(transactions.iterator(), writer)
+                    : writeNdjson(transactions.iterator(), writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long writeNdjson(Iterator<TransactionDto> transactions, Writer writer)
+            throws IOException {
+        long count = 0;
+        while (transactions.hasNext()) {
+            writer.write(objectMapper.writeValueAsString(transactions.next()));
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<TransactionDto> transactions, Writer writer)
+            throws IOException {
+        long count = 0;
+        while (transactions.hasNext()) {
+            TransactionDto transaction = transactions.next();
+            writer.write(String.join(",",
+                    transaction.getTransactionId(),
+                    transaction.getAccountNumber(),
+                    String.valueOf(transaction.getTransactionType()),
+                    String.valueOf(transaction.getTransactionResult()),
+                    String.valueOf(transaction.getAmount()),
+                    String.valueOf(transaction.getBalanceSnapshot()),
+                    String.valueOf(transaction.getTransactedAt())));
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+}
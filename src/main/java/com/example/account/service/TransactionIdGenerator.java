@@ -0,0 +1,10 @@
+package com.example.account.service;
+
+public interface TransactionIdGenerator {
+    // 17~18번째 자리(16진수 두 자리)에 거래가 저장된 샤드 번호를 넣음
+    int SHARD_OFFSET = 16;
+    int SHARD_DIGITS = 2;
+
+    // 32자리 소문자 16진수 문자열
+    String generate(int shard);
+}
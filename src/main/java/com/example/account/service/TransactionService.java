@@ -1,12 +1,21 @@
 package com.example.account.service;
 
+import com.example.account.aop.ShardKey;
+import com.example.account.config.ShardContext;
+import com.example.account.config.TransactionProperties;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.FailedTransaction;
+import com.example.account.dto.TransactionCursor;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistoryDto;
+import com.example.account.dto.TransferDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceOutcome;
 import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountBalanceView;
 import com.example.account.repository.AccountRepository;
-import com.example.account.repository.AccountUserRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
@@ -14,16 +23,23 @@ import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.example.account.type.AccountStatus.*;
+import static com.example.account.type.DebitMode.CONDITIONAL_UPDATE;
 import static com.example.account.type.ErrorCode.*;
+import static com.example.account.type.ShardKeyType.TRANSACTION_ID;
 import static com.example.account.type.TransactionResultType.*;
 import static com.example.account.type.TransactionType.*;
 
@@ -31,13 +47,26 @@ import static com.example.account.type.TransactionType.*;
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
+    public static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final LocalDateTime HISTORY_BEGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_END = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final TransactionRepository transactionRepository;
-    private final AccountUserRepository accountUserRepository;
+    private final AccountUserCache accountUserCache;
     private final AccountRepository accountRepository;
+    private final TransactionProperties transactionProperties;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final TransactionCache transactionCache;
+    private final ShardResolver shardResolver;
+    private final ShardTemplate shardTemplate;
 
     @Transactional
-    public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
+    public TransactionDto useBalance(Long userId, @ShardKey String accountNumber, Long amount) {
+        if (transactionProperties.getDebitMode() == CONDITIONAL_UPDATE) {
+            return useBalanceConditionally(userId, accountNumber, amount);
+        }
+
+        AccountUser accountUser = accountUserCache.findById(userId)
                 .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
 
         Account account = accountRepository.findByAccountNumber(accountNumber)
@@ -50,6 +79,117 @@ public class TransactionService {
         return TransactionDto.fromEntity(saveAndGetTransaction(USE, SUCCESS, account, amount));
     }
 
+    /**
+     * 한 계좌에 대한 여러 건의 잔액 사용을 요청 순서대로 하나의 DB 트랜잭션에서 처리한다.
+     * 검증에 실패한 건은 상태를 바꾸지 않으므로 건별 실패로 돌려주고 나머지 건은 계속 처리한다.
+     * debit-mode 가 conditional-update 면 단건과 같이 건마다 조건부 UPDATE 로 차감한다.
+     */
+    @Transactional
+    public List<UseBalanceOutcome> useBalances(@ShardKey String accountNumber,
+                                               List<UseBalance.Request> requests) {
+        if (transactionProperties.getDebitMode() == CONDITIONAL_UPDATE) {
+            return useBalancesConditionally(accountNumber, requests);
+        }
+
+        Optional<Account> found = accountRepository.findByAccountNumber(accountNumber);
+
+        List<UseBalanceOutcome> outcomes = new ArrayList<>();
+        List<Transaction> transactions = new ArrayList<>();
+        for (UseBalance.Request request : requests) {
+            try {
+                AccountUser accountUser = accountUserCache.findById(request.getUserId())
+                        .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+                Account account = found
+                        .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+
+                validateUseBalance(accountUser, account, request.getAmount());
+
+                account.useBalance(request.getAmount());
+
+                Transaction transaction = buildTransaction(USE, SUCCESS, account,
+                        request.getAmount(), account.getBalance());
+                transactions.add(transaction);
+                outcomes.add(UseBalanceOutcome.success(TransactionDto.fromEntity(transaction)));
+            } catch (AccountException e) {
+                outcomes.add(UseBalanceOutcome.failure(
+                        accountNumber, request.getAmount(), e.getErrorCode()));
+            }
+        }
+
+        transactionRepository.saveAll(transactions);
+
+        return outcomes;
+    }
+
+    private List<UseBalanceOutcome> useBalancesConditionally(String accountNumber,
+                                                             List<UseBalance.Request> requests) {
+        // 건마다 원자적으로 차감하므로 락 없이 다른 요청과 겹쳐도 묶음 전체가 실패하지 않음
+        List<UseBalanceOutcome> outcomes = new ArrayList<>();
+        List<Transaction> transactions = new ArrayList<>();
+        for (UseBalance.Request request : requests) {
+            try {
+                Transaction transaction = debitConditionally(
+                        request.getUserId(), accountNumber, request.getAmount());
+                transactions.add(transaction);
+                outcomes.add(UseBalanceOutcome.success(
+                        conditionalDebitDto(accountNumber, transaction)));
+            } catch (AccountException e) {
+                outcomes.add(UseBalanceOutcome.failure(
+                        accountNumber, request.getAmount(), e.getErrorCode()));
+            }
+        }
+
+        transactionRepository.saveAll(transactions);
+
+        return outcomes;
+    }
+
+    private TransactionDto useBalanceConditionally(Long userId, String accountNumber, Long amount) {
+        Transaction transaction = transactionRepository.save(
+                debitConditionally(userId, accountNumber, amount));
+
+        return conditionalDebitDto(accountNumber, transaction);
+    }
+
+    // 검증과 차감을 조건부 UPDATE 한 번으로 처리해 외부 락 없이도 원자적. 거래 내역은 저장하지 않고 돌려줌
+    private Transaction debitConditionally(Long userId, String accountNumber, Long amount) {
+        if (accountRepository.debitIfAvailable(userId, accountNumber, amount) == 0) {
+            throw debitFailure(userId, accountNumber, amount);
+        }
+
+        AccountBalanceView balance = accountRepository.findBalanceByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+
+        return buildTransaction(USE, SUCCESS,
+                accountRepository.getById(balance.getId()), amount, balance.getBalance());
+    }
+
+    // 계좌 프록시를 초기화하지 않도록 계좌번호는 인자로 받음
+    private static TransactionDto conditionalDebitDto(String accountNumber, Transaction transaction) {
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .transactionType(transaction.getTransactionType())
+                .transactionResult(transaction.getTransactionResultType())
+                .amount(transaction.getAmount())
+                .balanceSnapshot(transaction.getBalanceSnapshot())
+                .transactionId(transaction.getTransactionId())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+    }
+
+    private AccountException debitFailure(Long userId, String accountNumber, Long amount) {
+        // 실패한 경우에만 엔티티를 읽어 원인에 맞는 에러 코드로 변환
+        AccountUser accountUser = accountUserCache.findById(userId)
+                .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+
+        validateUseBalance(accountUser, account, amount);
+
+        // 검증 사이에 잔액이 바뀐 경우
+        return new AccountException(ACCOUNT_TRANSACTION_LOCK);
+    }
+
     private void validateUseBalance(AccountUser accountUser, Account account, Long amount) {
         if(!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
             throw new AccountException(USER_ACCOUNT_UNMATCH);
@@ -69,31 +209,102 @@ public class TransactionService {
             TransactionResultType transactionResultType,
             Account account,
             Long amount) {
-        return transactionRepository.save(
-                Transaction.builder()
-                        .transactionType(transactionType)
-                        .transactionResultType(transactionResultType)
-                        .account(account)
-                        .amount(amount)
-                        .balanceSnapshot(account.getBalance())
-                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
-                        .transactedAt(LocalDateTime.now())
-                        .build()
-        );
+        return transactionRepository.save(buildTransaction(transactionType,
+                transactionResultType, account, amount, account.getBalance()));
+    }
+
+    private Transaction buildTransaction(
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            Account account,
+            Long amount,
+            Long balanceSnapshot) {
+        return Transaction.builder()
+                .transactionType(transactionType)
+                .transactionResultType(transactionResultType)
+                .account(account)
+                .amount(amount)
+                .balanceSnapshot(balanceSnapshot)
+                .transactionId(transactionIdGenerator.generate(ShardContext.current()))
+                .transactedAt(LocalDateTime.now())
+                .build();
     }
 
     @Transactional
-    public void saveFailedTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+    public TransferDto transfer(Long userId, @ShardKey String fromAccountNumber,
+                                String toAccountNumber, Long amount) {
+        if (Objects.equals(fromAccountNumber, toAccountNumber)) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+        // 한 DB 트랜잭션으로 처리할 수 있는 같은 샤드의 계좌끼리만 이체
+        if (shardResolver.shardOfAccount(fromAccountNumber)
+                != shardResolver.shardOfAccount(toAccountNumber)) {
+            throw new AccountException(CROSS_SHARD_TRANSFER);
+        }
+
+        AccountUser accountUser = accountUserCache.findById(userId)
+                .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+        Account fromAccount = accountRepository.findByAccountNumber(fromAccountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        Account toAccount = accountRepository.findByAccountNumber(toAccountNumber)
                 .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
 
-        saveAndGetTransaction(CANCEL, FAIL, account, amount);
+        validateUseBalance(accountUser, fromAccount, amount);
+        if (toAccount.getAccountStatus() != IN_USE) {
+            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+
+        fromAccount.useBalance(amount);
+        toAccount.receiveBalance(amount);
+
+        // 출금과 입금 거래 내역을 하나의 DB 트랜잭션에서 기록
+        return TransferDto.builder()
+                .withdrawal(TransactionDto.fromEntity(
+                        saveAndGetTransaction(TRANSFER_OUT, SUCCESS, fromAccount, amount)))
+                .deposit(TransactionDto.fromEntity(
+                        saveAndGetTransaction(TRANSFER_IN, SUCCESS, toAccount, amount)))
+                .build();
+    }
+
+    public void saveFailedTransactions(List<FailedTransaction> failedTransactions) {
+        // 계좌가 있는 샤드별로 나눠서 저장
+        Map<Integer, List<FailedTransaction>> byShard = failedTransactions.stream()
+                .collect(Collectors.groupingBy(failedTransaction ->
+                        shardResolver.shardOfAccount(failedTransaction.getAccountNumber())));
+
+        byShard.forEach((shard, failedTransactionsInShard) ->
+                shardTemplate.inShard(shard, () -> {
+                    saveFailedTransactionsInShard(failedTransactionsInShard);
+                    return null;
+                }));
+    }
+
+    private void saveFailedTransactionsInShard(List<FailedTransaction> failedTransactions) {
+        Map<String, Account> accounts = accountRepository.findByAccountNumberIn(
+                        failedTransactions.stream()
+                                .map(FailedTransaction::getAccountNumber)
+                                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (FailedTransaction failedTransaction : failedTransactions) {
+            Account account = accounts.get(failedTransaction.getAccountNumber());
+            if (account == null) {
+                continue;
+            }
+
+            transactions.add(buildTransaction(failedTransaction.getTransactionType(), FAIL,
+                    account, failedTransaction.getAmount(), account.getBalance()));
+        }
+
+        transactionRepository.saveAll(transactions);
     }
 
     @Transactional
     public TransactionDto cancelBalance(
             String transactionId,
-            String accountNumber,
+            @ShardKey String accountNumber,
             Long amount
     ) {
         Transaction transaction = transactionRepository.findByTransactionId(transactionId)
@@ -125,19 +336,56 @@ public class TransactionService {
         }
     }
 
-    @Transactional
-    public void saveFailedCancelTransaction(String accountNumber, Long amount) {
+    // 캐시 적중은 DB 커넥션 없이 처리되도록 트랜잭션은 캐시 로더(findDtoByTransactionId)에만 걸림
+    public TransactionDto queryTransaction(@ShardKey(TRANSACTION_ID) String transactionId) {
+        return transactionCache.get(transactionId, id ->
+                transactionRepository.findDtoByTransactionId(id)
+                        .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND)));
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionHistoryDto getTransactionHistory(
+            @ShardKey String accountNumber,
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            LocalDateTime from,
+            LocalDateTime to,
+            String cursor,
+            int size
+    ) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
 
-        saveAndGetTransaction(CANCEL, FAIL, account, amount);
-    }
+        // 첫 페이지는 조회 기간의 끝(포함)부터 시작
+        TransactionCursor start = cursor != null
+                ? TransactionCursor.decode(cursor)
+                : new TransactionCursor(to != null ? to : HISTORY_END, Long.MAX_VALUE);
 
-    public TransactionDto queryTransaction(String transactionId) {
-        return TransactionDto.fromEntity(
-                transactionRepository.findByTransactionId(transactionId)
-                        .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND))
-        );
+        // 한 건 더 읽어서 다음 페이지 유무를 판단
+        List<Transaction> transactions = transactionRepository.findHistory(
+                account.getId(),
+                from != null ? from : HISTORY_BEGIN,
+                start.getTransactedAt(),
+                start.getId(),
+                transactionType,
+                transactionResultType,
+                PageRequest.of(0, size + 1));
+
+        boolean hasNext = transactions.size() > size;
+        List<Transaction> page = hasNext ? transactions.subList(0, size) : transactions;
+        Transaction last = hasNext ? page.get(page.size() - 1) : null;
+
+        return TransactionHistoryDto.builder()
+                .transactions(page.stream()
+                        .map(TransactionDto::fromEntity)
+                        .collect(Collectors.toList()))
+                .nextCursor(last == null ? null
+                        : new TransactionCursor(last.getTransactedAt(), last.getId()).encode())
+                .build();
     }
 
 }
@@ -0,0 +1,125 @@
+package com.example.account.service;
+
+import com.example.account.config.LockPolicy;
+import com.example.account.config.LockProperties;
+import com.example.account.dto.FailedTransaction;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceOutcome;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.AsyncLockMode.SERIAL_QUEUE;
+import static com.example.account.type.ErrorCode.INTERNAL_SERVER_ERROR;
+import static com.example.account.type.LockStrategy.DISTRIBUTED;
+import static com.example.account.type.TransactionType.USE;
+
+/**
+ * 여러 건의 잔액 사용을 계좌별로 묶어서, 계좌마다 락을 한 번만 잡고 DB 트랜잭션 하나로 처리한다.
+ * 한 계좌 묶음이 실패해도 다른 계좌 묶음은 그대로 커밋되므로 결과는 항상 건별로 돌려준다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UseBalanceBatchService {
+    private static final String LOCK_POLICY = "use";
+
+    private final TransactionService transactionService;
+    private final LockService lockService;
+    private final AccountMailbox accountMailbox;
+    private final LockProperties lockProperties;
+    private final LockMetrics lockMetrics;
+    private final FailedTransactionRecorder failedTransactionRecorder;
+    private final VersionConflictRetry versionConflictRetry;
+
+    public List<UseBalanceOutcome> useBalances(List<UseBalance.Request> requests) {
+        // 처음 나온 순서대로 계좌별 요청 위치를 모음
+        Map<String, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByAccount.computeIfAbsent(requests.get(i).getAccountNumber(),
+                    accountNumber -> new ArrayList<>()).add(i);
+        }
+
+        LockPolicy policy = lockProperties.policyOf(LOCK_POLICY);
+        UseBalanceOutcome[] outcomes = new UseBalanceOutcome[requests.size()];
+        indexesByAccount.forEach((accountNumber, indexes) -> {
+            List<UseBalance.Request> group = indexes.stream()
+                    .map(requests::get)
+                    .collect(Collectors.toList());
+
+            List<UseBalanceOutcome> groupOutcomes = useBalancesOfAccount(accountNumber, group, policy);
+            for (int i = 0; i < indexes.size(); i++) {
+                outcomes[indexes.get(i)] = groupOutcomes.get(i);
+            }
+        });
+
+        for (UseBalanceOutcome outcome : outcomes) {
+            if (!outcome.isSuccess()) {
+                failedTransactionRecorder.record(new FailedTransaction(
+                        USE, outcome.getAccountNumber(), outcome.getAmount()));
+            }
+        }
+
+        return Arrays.asList(outcomes);
+    }
+
+    private List<UseBalanceOutcome> useBalancesOfAccount(String accountNumber,
+                                                         List<UseBalance.Request> group,
+                                                         LockPolicy policy) {
+        try {
+            // 단건과 같이 버전 충돌 시 묶음을 제한된 횟수로 다시 실행하고, 모두 실패하면 ACCOUNT_TRANSACTION_LOCK
+            return locked(accountNumber, policy, () -> versionConflictRetry.get(
+                    () -> transactionService.useBalances(accountNumber, group)));
+        } catch (AccountException e) {
+            log.error("Failed use balance batch. accountNumber={}", accountNumber);
+            return failAll(accountNumber, group, e.getErrorCode());
+        } catch (RuntimeException e) {
+            log.error("Failed use balance batch. accountNumber={}", accountNumber, e);
+            return failAll(accountNumber, group, INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private <T> T locked(String accountNumber, LockPolicy policy, Supplier<T> work) {
+        if (policy.getStrategy() != DISTRIBUTED) {
+            return work.get();
+        }
+        if (lockProperties.getAsyncMode() == SERIAL_QUEUE) {
+            // 단건 요청과 같은 계좌별 큐에 줄을 섬
+            Runnable release = accountMailbox.awaitTurn(accountNumber, policy.getWaitTimeMillis());
+            try {
+                return work.get();
+            } finally {
+                release.run();
+            }
+        }
+
+        lockService.lock(accountNumber, policy);
+        long acquiredAt = System.nanoTime();
+
+        try {
+            return work.get();
+        } finally {
+            lockMetrics.recordHeld(System.nanoTime() - acquiredAt);
+            lockService.unlock(accountNumber);
+        }
+    }
+
+    private static List<UseBalanceOutcome> failAll(String accountNumber,
+                                                   List<UseBalance.Request> group,
+                                                   ErrorCode errorCode) {
+        return group.stream()
+                .map(request -> UseBalanceOutcome.failure(
+                        accountNumber, request.getAmount(), errorCode))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.account.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "account.transaction-id.generator", havingValue = "uuid")
+public class UuidTransactionIdGenerator implements TransactionIdGenerator {
+    @Override
+    public String generate(int shard) {
+        // 샤드 자리만 샤드 번호로 덮어씀
+        StringBuilder id = new StringBuilder(UUID.randomUUID().toString().replace("-", ""));
+        id.replace(SHARD_OFFSET, SHARD_OFFSET + SHARD_DIGITS, String.format("%02x", shard));
+
+        return id.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.account.service;
+
+import com.example.account.config.LockProperties;
+import com.example.account.exception.AccountException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+
+/**
+ * 계좌 버전 충돌 시 제한된 횟수로 다시 실행한다. 낙관적 락 전략뿐 아니라 분산 락을 잡은 경로도
+ * 락 없이 도는 조건부 UPDATE 차감과 버전이 겹칠 수 있으므로 같은 재시도를 쓴다.
+ * 재시도마다 새 DB 트랜잭션이 열리도록 트랜잭션 경계 바깥에서 호출해야 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VersionConflictRetry {
+    private final LockProperties lockProperties;
+
+    public interface Attempt<T> {
+        T run() throws Throwable;
+    }
+
+    public <T> T run(Attempt<T> attempt) throws Throwable {
+        for (int count = 1; ; count++) {
+            try {
+                return attempt.run();
+            } catch (OptimisticLockingFailureException e) {
+                if (count >= lockProperties.getOptimisticMaxAttempts()) {
+                    log.error("======Optimistic lock retry exhausted======");
+                    throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+                }
+                log.debug("Optimistic lock conflict, attempt : {}", count);
+                TimeUnit.MILLISECONDS.sleep(lockProperties.getOptimisticRetryDelayMillis());
+            }
+        }
+    }
+
+    public <T> T get(Supplier<T> work) {
+        try {
+            return run(work::get);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+        } catch (Throwable e) {
+            // Supplier 는 검사 예외를 던지지 않으므로 재시도 대기 중 인터럽트 외에는 오지 않음
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.account.type;
+
+public enum AsyncLockMode {
+    DISTRIBUTED_LOCK,
+    SERIAL_QUEUE
+}
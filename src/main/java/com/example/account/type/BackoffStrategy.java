@@ -0,0 +1,10 @@
+package com.example.account.type;
+
+public enum BackoffStrategy {
+    // Redisson 이 락 해제 알림을 받을 때까지 대기
+    FIXED,
+    // 지수적으로 늘어나는 간격 + 지터로 재시도
+    EXPONENTIAL_JITTER,
+    // 대기 없이 한 번만 시도
+    FAIL_FAST
+}
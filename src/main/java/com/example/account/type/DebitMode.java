@@ -0,0 +1,6 @@
+package com.example.account.type;
+
+public enum DebitMode {
+    ENTITY,
+    CONDITIONAL_UPDATE
+}
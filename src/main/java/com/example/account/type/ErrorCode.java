@@ -22,7 +22,10 @@ public enum ErrorCode {
     ACCOUNT_ALREADY_UNREGISTERED("계좌가 이미 해지되었습니다."),
     TRANSACTION_ALREADY_CANCEL("이미 취소된 거래입니다."),
     BALANCE_NOT_EMPTY("잔액이 있는 계좌는 해지할 수 없습니다."),
-    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌는 10개 입니다.");
+    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌는 10개 입니다."),
+    CROSS_SHARD_TRANSFER("서로 다른 샤드의 계좌 간 이체는 지원하지 않습니다."),
+    IDEMPOTENT_REQUEST_IN_PROGRESS("같은 Idempotency-Key 의 요청이 처리 중입니다."),
+    IDEMPOTENCY_KEY_REUSED("다른 요청에 사용된 Idempotency-Key 입니다.");
 
     private final String description;
 }
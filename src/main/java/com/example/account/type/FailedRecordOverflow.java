@@ -0,0 +1,8 @@
+package com.example.account.type;
+
+public enum FailedRecordOverflow {
+    // 큐가 가득 차면 요청 스레드에서 바로 기록 (기록 유실 없음)
+    CALLER_RUNS,
+    // 큐가 가득 차면 기록을 버리고 카운트만 남김
+    DROP
+}
@@ -0,0 +1,11 @@
+package com.example.account.type;
+
+public enum LockStrategy {
+    // account.lock.strategy 설정을 따름
+    DEFAULT,
+    DISTRIBUTED,
+    OPTIMISTIC,
+    // 락 없이 실행 (조건부 UPDATE 로 원자성을 보장하는 경우). policies.<name>.strategy 로만 지정
+    // account.lock.strategy 에 주면 DISTRIBUTED 로 취급
+    NONE
+}
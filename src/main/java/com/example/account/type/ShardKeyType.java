@@ -0,0 +1,7 @@
+package com.example.account.type;
+
+public enum ShardKeyType {
+    ACCOUNT_NUMBER,
+    // 거래 ID 의 샤드 자리(17~18번째 자리)에 기록된 샤드
+    TRANSACTION_ID
+}
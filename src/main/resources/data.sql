@@ -1,5 +1,10 @@
-insert into account_user(id, name, created_at, updated_at)
-values (1, 'kim', now(), now());
+insert into account_user(id, name, account_count, created_at, updated_at)
+values (1, 'kim', 0, now(), now());
 
-insert into account_user(id, name, created_at, updated_at)
-values (2, 'park', now(), now());
\ No newline at end of file
+insert into account_user(id, name, account_count, created_at, updated_at)
+values (2, 'park', 0, now(), now());
+
+-- 시드 사용자 id 를 직접 넣었으므로 JPA 가 발급하는 id 는 그 뒤부터 시작
+alter sequence account_user_seq restart with 101;
+
+create sequence if not exists account_number_seq start with 1;
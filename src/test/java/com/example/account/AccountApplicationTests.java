@@ -1,13 +1,33 @@
 package com.example.account;
 
+import com.example.account.domain.AccountUser;
+import com.example.account.repository.AccountUserRepository;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 @SpringBootTest
 class AccountApplicationTests {
+    @Autowired
+    private AccountUserRepository accountUserRepository;
 
     @Test
     void contextLoads() {
     }
 
+    @Test
+    @DisplayName("새로 저장한 사용자 id 가 data.sql 시드 사용자 id 와 겹치지 않음")
+    void newAccountUserIdAfterSeedUsers() {
+        //given
+        //when
+        AccountUser accountUser = accountUserRepository.save(AccountUser.builder()
+                .name("lee")
+                .build());
+
+        //then
+        assertTrue(accountUser.getId() > 2L);
+    }
 }
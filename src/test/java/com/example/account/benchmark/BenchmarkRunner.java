@@ -0,0 +1,63 @@
+package com.example.account.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class BenchmarkRunner {
+    interface Operation {
+        void run(int thread, int iteration) throws Exception;
+    }
+
+    private BenchmarkRunner() {
+    }
+
+    static BenchmarkReport run(String name, int threads, int opsPerThread, Operation operation)
+            throws InterruptedException {
+        return run(name, Executors.newFixedThreadPool(threads), threads, opsPerThread, operation);
+    }
+
+    static BenchmarkReport run(String name, ExecutorService executor, int threads,
+                               int opsPerThread, Operation operation)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] latencies = new long[threads * opsPerThread];
+        AtomicInteger cursor = new AtomicInteger();
+        AtomicLong failures = new AtomicLong();
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < opsPerThread; i++) {
+                        long begin = System.nanoTime();
+                        try {
+                            operation.run(thread, i);
+                        } catch (InterruptedException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[cursor.getAndIncrement()] = System.nanoTime() - begin;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        return new BenchmarkReport(name, elapsed, latencies, failures.get());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.account.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+/**
+ * Tomcat + JPA 모듈의 HTTP 처리량. reactive 모듈의 ReactiveHttpLoadBenchmark 와 같은 시나리오로,
+ * 동시 요청 수를 Tomcat 스레드 수(기본 200) 위로 올렸을 때의 차이를 본다. {@code ./gradlew benchmark} 로 실행.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.redis.port=6397")
+class HttpLoadBenchmark {
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void useBalance() {
+        HttpLoadScenario.run("blocking", "http://localhost:" + port);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.account.benchmark;
+
+import com.example.account.config.LockProperties;
+import com.example.account.service.LocalLockTier;
+import com.example.account.service.LockMetrics;
+import com.example.account.service.LockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import redis.embedded.RedisServer;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Redis 단독 락과 로컬 + Redis 2단계 락 비교. {@code ./gradlew benchmark} 로 실행.
+ */
+@Tag("benchmark")
+class LockBenchmark {
+    private static final int REDIS_PORT = 6390;
+    private static final int THREADS = 32;
+    private static final int OPS_PER_THREAD = 300;
+    private static final long HOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private static RedisServer redisServer;
+    private static RedissonClient redissonClient;
+
+    @BeforeAll
+    static void setUp() {
+        redisServer = new RedisServer(REDIS_PORT);
+        redisServer.start();
+
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + REDIS_PORT);
+        redissonClient = Redisson.create(config);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @Test
+    void singleHotAccount() throws InterruptedException {
+        compare(1);
+    }
+
+    @Test
+    void manyAccounts() throws InterruptedException {
+        compare(1000);
+    }
+
+    private void compare(int accountCount) throws InterruptedException {
+        // warm up
+        run("warm-up", lockService(true), accountCount);
+
+        run("redis-only, accounts=" + accountCount, lockService(false), accountCount).print();
+        run("two-tier, accounts=" + accountCount, lockService(true), accountCount).print();
+    }
+
+    private static LockService lockService(boolean localTierEnabled) {
+        LockProperties lockProperties = new LockProperties();
+        lockProperties.setLocalTierEnabled(localTierEnabled);
+
+        return new LockService(redissonClient, new LocalLockTier(lockProperties),
+                new LockMetrics(new SimpleMeterRegistry(), lockProperties));
+    }
+
+    private static BenchmarkReport run(String name, LockService lockService, int accountCount)
+            throws InterruptedException {
+        return BenchmarkRunner.run(name, THREADS, OPS_PER_THREAD, (thread, iteration) -> {
+            String accountNumber = String.valueOf(
+                    1_000_000_000L + ThreadLocalRandom.current().nextInt(accountCount));
+            lockService.lock(accountNumber);
+            try {
+                LockSupport.parkNanos(HOLD_NANOS);
+            } finally {
+                lockService.unlock(accountNumber);
+            }
+        });
+    }
+}
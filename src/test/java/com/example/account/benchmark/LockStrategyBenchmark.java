@@ -0,0 +1,80 @@
+package com.example.account.benchmark;
+
+import com.example.account.config.LockProperties;
+import com.example.account.controller.TransactionController;
+import com.example.account.dto.UseBalance;
+import com.example.account.service.AccountService;
+import com.example.account.type.LockStrategy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.example.account.type.LockStrategy.DISTRIBUTED;
+import static com.example.account.type.LockStrategy.OPTIMISTIC;
+
+/**
+ * 분산 락과 낙관적 락 전략의 처리량 비교. {@code ./gradlew benchmark} 로 실행.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class LockStrategyBenchmark {
+    private static final int THREADS = 16;
+    private static final int OPS_PER_THREAD = 200;
+
+    @Autowired
+    private TransactionController transactionController;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LockProperties lockProperties;
+
+    @Test
+    void singleHotAccount() throws InterruptedException {
+        compare(1);
+    }
+
+    @Test
+    void lowContentionAccounts() throws InterruptedException {
+        compare(9);
+    }
+
+    private void compare(int accountCount) throws InterruptedException {
+        List<String> accountNumbers = createAccounts(accountCount);
+        LockStrategy original = lockProperties.getStrategy();
+
+        try {
+            run("warm-up", DISTRIBUTED, accountNumbers);
+            run("distributed, accounts=" + accountCount, DISTRIBUTED, accountNumbers).print();
+            run("optimistic, accounts=" + accountCount, OPTIMISTIC, accountNumbers).print();
+        } finally {
+            lockProperties.setStrategy(original);
+        }
+    }
+
+    private List<String> createAccounts(int accountCount) {
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < accountCount; i++) {
+            accountNumbers.add(accountService.createAccount(
+                    (long) (i % 2 + 1), 1_000_000_000L).getAccountNumber());
+        }
+        return accountNumbers;
+    }
+
+    private BenchmarkReport run(String name, LockStrategy strategy, List<String> accountNumbers)
+            throws InterruptedException {
+        lockProperties.setStrategy(strategy);
+
+        return BenchmarkRunner.run(name, THREADS, OPS_PER_THREAD, (thread, iteration) -> {
+            int index = ThreadLocalRandom.current().nextInt(accountNumbers.size());
+            transactionController.useBalance(new UseBalance.Request(
+                    (long) (index % 2 + 1), accountNumbers.get(index), 10L));
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.Account;
+import com.example.account.dto.TransactionHistoryDto;
+import com.example.account.repository.AccountRepository;
+import com.example.account.service.AccountService;
+import com.example.account.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 거래가 많은 계좌의 깊은 페이지 조회 지연. keyset 과 offset 페이지를 같은 깊이에서 비교한다.
+ * {@code ./gradlew benchmark} 로 실행.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.redis.port=6393",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class TransactionHistoryBenchmark {
+    private static final int ROWS = 200_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int[] DEPTHS = {0, 100, 1_000, 5_000, 9_999};
+    private static final int SAMPLES = 20;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deepPages() throws InterruptedException {
+        String accountNumber = accountService.createAccount(1L, 0L).getAccountNumber();
+        Account account = accountRepository.findByAccountNumber(accountNumber).get();
+        seed(account.getId());
+
+        List<String> cursors = cursorsAtDepths(accountNumber);
+        for (int i = 0; i < DEPTHS.length; i++) {
+            int depth = DEPTHS[i];
+            String cursor = cursors.get(i);
+
+            BenchmarkRunner.run("keyset, page=" + depth, 1, SAMPLES, (thread, iteration) ->
+                    transactionService.getTransactionHistory(accountNumber,
+                            null, null, null, null, cursor, PAGE_SIZE)).print();
+
+            BenchmarkRunner.run("offset, page=" + depth, 1, SAMPLES, (thread, iteration) ->
+                    jdbcTemplate.queryForList("select * from transaction" +
+                                    " where account_id = ?" +
+                                    " order by transacted_at desc, id desc" +
+                                    " limit ? offset ?",
+                            account.getId(), PAGE_SIZE, depth * PAGE_SIZE)).print();
+        }
+    }
+
+    private void seed(Long accountId) {
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{
+                    1_000_000_000L + i, accountId, "USE", "SUCCESS", 1000L, 0L,
+                    "history" + i, Timestamp.valueOf(base.plusNanos(i * 1_000_000L))});
+        }
+
+        jdbcTemplate.batchUpdate("insert into transaction(id, account_id," +
+                " transaction_type, transaction_result_type, amount, balance_snapshot," +
+                " transaction_id, transacted_at) values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    // 각 깊이의 keyset 커서는 앞 페이지를 순서대로 넘겨서 구한다
+    private List<String> cursorsAtDepths(String accountNumber) {
+        List<String> cursors = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0, next = 0; next < DEPTHS.length; page++) {
+            if (page == DEPTHS[next]) {
+                cursors.add(cursor);
+                next++;
+            }
+
+            TransactionHistoryDto history = transactionService.getTransactionHistory(
+                    accountNumber, null, null, null, null, cursor, PAGE_SIZE);
+            cursor = history.getNextCursor();
+        }
+        return cursors;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.account.benchmark;
+
+import com.example.account.service.SnowflakeTransactionIdGenerator;
+import com.example.account.service.TransactionIdGenerator;
+import com.example.account.service.UuidTransactionIdGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * UUID 와 시간순 거래 ID 생성 비용 비교. {@code ./gradlew benchmark} 로 실행.
+ */
+@Tag("benchmark")
+class TransactionIdGeneratorBenchmark {
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 200_000;
+
+    @Test
+    void compareGenerators() throws InterruptedException {
+        TransactionIdGenerator uuid = new UuidTransactionIdGenerator();
+        TransactionIdGenerator snowflake = new SnowflakeTransactionIdGenerator(1L);
+
+        // warm up
+        run("warm-up uuid", uuid);
+        run("warm-up snowflake", snowflake);
+
+        run("uuid", uuid).print();
+        run("snowflake", snowflake).print();
+    }
+
+    private static BenchmarkReport run(String name, TransactionIdGenerator generator)
+            throws InterruptedException {
+        return BenchmarkRunner.run(name, THREADS, OPS_PER_THREAD,
+                (thread, iteration) -> generator.generate(0));
+    }
+}
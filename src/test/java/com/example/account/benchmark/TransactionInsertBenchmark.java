@@ -0,0 +1,101 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.service.AccountService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.account.type.TransactionResultType.FAIL;
+import static com.example.account.type.TransactionType.USE;
+
+/**
+ * 한 DB 트랜잭션에서 거래 내역 여러 건을 기록할 때의 초당 insert 수.
+ * JDBC 배치를 끈 설정(batch_size=1)과 기본 설정을 비교한다. {@code ./gradlew benchmark} 로 실행.
+ */
+@Tag("benchmark")
+abstract class TransactionInsertBenchmark {
+    private static final int THREADS = 4;
+    private static final int OPS_PER_THREAD = 200;
+    private static final int ROWS_PER_OP = 10;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    abstract String name();
+
+    @Test
+    void insertTransactions() throws InterruptedException {
+        String accountNumber = accountService.createAccount(1L, 0L).getAccountNumber();
+
+        run("warm-up", accountNumber);
+        BenchmarkReport report = run(name() + ", rows/op=" + ROWS_PER_OP, accountNumber);
+        report.print();
+        System.out.printf("%s: %.0f inserts/s%n",
+                name(), report.throughput() * ROWS_PER_OP);
+    }
+
+    private BenchmarkReport run(String name, String accountNumber)
+            throws InterruptedException {
+        return BenchmarkRunner.run(name, THREADS, OPS_PER_THREAD, (thread, iteration) ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    Account account = accountRepository.findByAccountNumber(accountNumber).get();
+                    List<Transaction> transactions = new ArrayList<>();
+                    for (int i = 0; i < ROWS_PER_OP; i++) {
+                        transactions.add(Transaction.builder()
+                                .transactionType(USE)
+                                .transactionResultType(FAIL)
+                                .account(account)
+                                .amount(1000L)
+                                .balanceSnapshot(0L)
+                                .transactionId(UUID.randomUUID().toString().replace("-", ""))
+                                .transactedAt(LocalDateTime.now())
+                                .build());
+                    }
+                    transactionRepository.saveAll(transactions);
+                }));
+    }
+
+    // 벤치마크 JVM 하나에 컨텍스트가 여러 개 캐시되므로 embedded redis 포트를 따로 씀
+    @SpringBootTest(properties = {
+            "spring.redis.port=6394",
+            "spring.jpa.properties.hibernate.show_sql=false",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=1"
+    })
+    static class Unbatched extends TransactionInsertBenchmark {
+        @Override
+        String name() {
+            return "unbatched";
+        }
+    }
+
+    @SpringBootTest(properties = {
+            "spring.redis.port=6395",
+            "spring.jpa.properties.hibernate.show_sql=false"
+    })
+    static class Batched extends TransactionInsertBenchmark {
+        @Override
+        String name() {
+            return "batched";
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.account.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * virtual-threads 프로필의 HTTP 처리량. HttpLoadBenchmark(플랫폼 스레드)와 같은 시나리오로,
+ * 한 계좌에 몰리는 요청이 락을 기다리는 동안에도 다른 계좌 요청이 처리되는지 본다.
+ * {@code ./gradlew benchmark} 로 실행.
+ */
+@Tag("benchmark")
+@ActiveProfiles("virtual-threads")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.redis.port=6396")
+class VirtualThreadHttpLoadBenchmark {
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void useBalance() {
+        HttpLoadScenario.run("virtual-threads", "http://localhost:" + port);
+    }
+}
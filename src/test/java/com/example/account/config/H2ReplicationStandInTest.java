@@ -0,0 +1,44 @@
+package com.example.account.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class H2ReplicationStandInTest {
+    @Test
+    void replicateSchemaThenData() throws SQLException {
+        //given
+        DriverManagerDataSource primary = new DriverManagerDataSource(
+                "jdbc:h2:mem:standInPrimary;DB_CLOSE_DELAY=-1", "sa", "");
+        DriverManagerDataSource replica = new DriverManagerDataSource(
+                "jdbc:h2:mem:standInReplica;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate primaryTemplate = new JdbcTemplate(primary);
+        JdbcTemplate replicaTemplate = new JdbcTemplate(replica);
+        H2ReplicationStandIn standIn = new H2ReplicationStandIn(primary, replica, 1000L);
+
+        primaryTemplate.execute("create table account(id bigint primary key, balance bigint)");
+        primaryTemplate.update("insert into account values (1, 1000)");
+        assertEquals(Long.MAX_VALUE, standIn.lagMillis());
+
+        //when
+        standIn.replicate();
+        primaryTemplate.update("update account set balance = 500 where id = 1");
+        primaryTemplate.update("insert into account values (2, 2000)");
+        long staleBalance = replicaTemplate.queryForObject(
+                "select balance from account where id = 1", Long.class);
+        standIn.replicate();
+
+        //then
+        assertEquals(1000L, staleBalance);
+        assertEquals(500L, replicaTemplate.queryForObject(
+                "select balance from account where id = 1", Long.class));
+        assertEquals(2, replicaTemplate.queryForObject(
+                "select count(*) from account", Integer.class));
+        assertTrue(standIn.lagMillis() < 1000L);
+    }
+}
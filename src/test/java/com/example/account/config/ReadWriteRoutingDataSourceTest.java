@@ -0,0 +1,48 @@
+package com.example.account.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static com.example.account.type.DataSourceRole.PRIMARY;
+import static com.example.account.type.DataSourceRole.REPLICA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+    @AfterEach
+    void clear() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyGoesToReplica() {
+        //given
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(() -> 100L, 1000L);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //when
+        //then
+        assertEquals(REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void writeGoesToPrimary() {
+        //given
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(() -> 0L, 1000L);
+
+        //when
+        //then
+        assertEquals(PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void staleReplicaFallsBackToPrimary() {
+        //given
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(() -> 5000L, 1000L);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //when
+        //then
+        assertEquals(PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.account.config;
+
+import com.example.account.exception.AccountException;
+import com.example.account.service.AccountService;
+import com.example.account.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * readOnly 서비스 호출이 JPA 와 LazyConnectionDataSourceProxy 를 거쳐 실제로 복제본 풀에서 읽는지 확인.
+ * 자동 복제를 사실상 멈춰 두고, 원본에만 있는 계좌를 readOnly 로 조회한다.
+ */
+@SpringBootTest(properties = {
+        "spring.redis.port=6390",
+        "account.datasource.replication-interval-millis=3600000",
+        "account.datasource.max-staleness-millis=3600000"
+})
+@ActiveProfiles("replica")
+class ReplicaRoutingIntegrationTest {
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private H2ReplicationStandIn h2ReplicationStandIn;
+
+    @Test
+    void readOnlyServiceCallReadsReplica() throws InterruptedException, SQLException {
+        //given
+        awaitFirstReplication();
+        String accountNumber = accountService.createAccount(1L, 10000L).getAccountNumber();
+
+        //when
+        AccountException beforeReplication = assertThrows(AccountException.class,
+                () -> transactionService.getTransactionHistory(accountNumber,
+                        null, null, null, null, null, 20));
+        h2ReplicationStandIn.replicate();
+
+        //then
+        assertEquals(ACCOUNT_NOT_FOUND, beforeReplication.getErrorCode());
+        assertTrue(transactionService.getTransactionHistory(accountNumber,
+                null, null, null, null, null, 20).getTransactions().isEmpty());
+    }
+
+    private void awaitFirstReplication() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (h2ReplicationStandIn.lagMillis() == Long.MAX_VALUE) {
+            assertTrue(System.nanoTime() < deadline, "replica was never replicated");
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+}
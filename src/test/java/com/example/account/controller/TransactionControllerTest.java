@@ -1,9 +1,20 @@
 package com.example.account.controller;
 
+import com.example.account.config.TransactionProperties;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistoryDto;
+import com.example.account.dto.TransferBalance;
+import com.example.account.dto.TransferDto;
 import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.dto.UseBalanceOutcome;
+import com.example.account.exception.AccountException;
+import com.example.account.service.FailedTransactionRecorder;
+import com.example.account.service.TransactionExporter;
 import com.example.account.service.TransactionService;
+import com.example.account.service.UseBalanceBatchService;
+import com.example.account.type.ExportFormat;
 import com.example.account.type.ErrorCode;
 import com.example.account.type.TransactionResultType;
 import com.example.account.type.TransactionType;
@@ -12,29 +23,68 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executor;
 
 import static com.example.account.type.TransactionResultType.*;
 import static com.example.account.type.TransactionType.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
 class TransactionControllerTest {
+    @TestConfiguration
+    static class DirectExecutorConfig {
+        @Bean
+        public Executor transactionExecutor() {
+            return Runnable::run;
+        }
+    }
+
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private FailedTransactionRecorder failedTransactionRecorder;
+
+    @MockBean
+    private TransactionExporter transactionExporter;
+
+    @MockBean
+    private TransactionProperties transactionProperties;
+
+    @MockBean
+    private UseBalanceBatchService useBalanceBatchService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -67,6 +117,36 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.amount").value(1000));
     }
 
+    @Test
+    void successUseBalanceAsync() throws Exception {
+        //given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1234567890")
+                        .transactionResult(SUCCESS)
+                        .transactionId("transactionId")
+                        .amount(1000L)
+                        .build());
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(post("/transaction/use/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new UseBalance.Request(1L, "1234567891", 2000L)
+                ))
+        ).andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("1234567890"))
+                .andExpect(jsonPath("$.transactionResult").value("SUCCESS"))
+                .andExpect(jsonPath("$.transactionId").value("transactionId"))
+                .andExpect(jsonPath("$.amount").value(1000));
+    }
+
     @Test
     void successCancelUseBalance() throws Exception {
         //given
@@ -93,6 +173,166 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.transactionResult").value("SUCCESS"));
     }
 
+    @Test
+    void failUseBalance_recordsUseFailure() throws Exception {
+        //given
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        //when
+        mockMvc.perform(post("/transaction/use")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new UseBalance.Request(1L, "1000000000", 2000L)
+                ))).andDo(print());
+
+        //then
+        verify(failedTransactionRecorder).record(argThat(failed ->
+                failed.getTransactionType() == USE
+                        && failed.getAccountNumber().equals("1000000000")
+                        && failed.getAmount() == 2000L));
+    }
+
+    @Test
+    void useBalanceBatch_returnsResultPerItem() throws Exception {
+        //given
+        given(useBalanceBatchService.useBalances(anyList()))
+                .willReturn(Arrays.asList(
+                        UseBalanceOutcome.success(TransactionDto.builder()
+                                .accountNumber("1000000000")
+                                .transactionResult(SUCCESS)
+                                .transactionId("transactionId")
+                                .amount(1000L)
+                                .build()),
+                        UseBalanceOutcome.failure("2000000000", 3000L,
+                                ErrorCode.AMOUNT_EXCEED_BALANCE)));
+
+        //when
+        //then
+        mockMvc.perform(post("/transaction/use/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UseBalanceBatch.Request(
+                        Arrays.asList(
+                                new UseBalance.Request(1L, "1000000000", 1000L),
+                                new UseBalance.Request(1L, "2000000000", 3000L)))
+                ))).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].transactionResult").value("SUCCESS"))
+                .andExpect(jsonPath("$.results[0].transactionId").value("transactionId"))
+                .andExpect(jsonPath("$.results[1].accountNumber").value("2000000000"))
+                .andExpect(jsonPath("$.results[1].transactionResult").value("FAIL"))
+                .andExpect(jsonPath("$.results[1].errorCode").value("AMOUNT_EXCEED_BALANCE"));
+    }
+
+    @Test
+    void useBalanceBatch_invalidItem() throws Exception {
+        //given
+        //when
+        mockMvc.perform(post("/transaction/use/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UseBalanceBatch.Request(
+                        Collections.singletonList(
+                                new UseBalance.Request(1L, "123", 1000L)))
+                ))).andDo(print());
+
+        //then
+        verify(useBalanceBatchService, never()).useBalances(anyList());
+    }
+
+    @Test
+    void successTransfer() throws Exception {
+        //given
+        given(transactionService.transfer(anyLong(), anyString(), anyString(), anyLong()))
+                .willReturn(TransferDto.builder()
+                        .withdrawal(TransactionDto.builder()
+                                .accountNumber("1000000000")
+                                .transactionType(TRANSFER_OUT)
+                                .transactionResult(SUCCESS)
+                                .transactionId("withdrawalId")
+                                .amount(3000L)
+                                .build())
+                        .deposit(TransactionDto.builder()
+                                .accountNumber("2000000000")
+                                .transactionType(TRANSFER_IN)
+                                .transactionResult(SUCCESS)
+                                .transactionId("depositId")
+                                .amount(3000L)
+                                .build())
+                        .build());
+
+        //when
+        //then
+        mockMvc.perform(post("/transaction/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new TransferBalance.Request(1L, "1000000000", "2000000000", 3000L)
+                ))).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromAccountNumber").value("1000000000"))
+                .andExpect(jsonPath("$.toAccountNumber").value("2000000000"))
+                .andExpect(jsonPath("$.withdrawalTransactionId").value("withdrawalId"))
+                .andExpect(jsonPath("$.depositTransactionId").value("depositId"))
+                .andExpect(jsonPath("$.amount").value(3000))
+                .andExpect(jsonPath("$.transactionResult").value("SUCCESS"));
+    }
+
+    @Test
+    void successGetTransactionHistory() throws Exception {
+        //given
+        given(transactionService.getTransactionHistory(anyString(), any(), any(),
+                any(), any(), any(), anyInt()))
+                .willReturn(TransactionHistoryDto.builder()
+                        .transactions(Collections.singletonList(TransactionDto.builder()
+                                .accountNumber("1000000000")
+                                .transactionType(USE)
+                                .transactionResult(SUCCESS)
+                                .transactionId("transactionId")
+                                .amount(1000L)
+                                .build()))
+                        .nextCursor("nextCursor")
+                        .build());
+
+        //when
+        //then
+        mockMvc.perform(get("/account/1000000000/transactions")
+                .param("type", "USE")
+                .param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].transactionId").value("transactionId"))
+                .andExpect(jsonPath("$.transactions[0].transactionType").value("USE"))
+                .andExpect(jsonPath("$.nextCursor").value("nextCursor"));
+        verify(transactionService).getTransactionHistory(eq("1000000000"), eq(USE),
+                isNull(), isNull(), isNull(), isNull(), eq(1));
+    }
+
+    @Test
+    void successExportTransactionsOfDay() throws Exception {
+        //given
+        willAnswer(invocation -> {
+            invocation.getArgument(4, OutputStream.class)
+                    .write("{\"transactionId\":\"transactionId\"}\n".getBytes());
+            return 1L;
+        }).given(transactionExporter).export(any(), any(), any(), any(), any());
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/transaction/export")
+                .param("date", "2022-06-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvcResult.getAsyncResult();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"transactionId\":\"transactionId\"}\n"));
+        verify(transactionExporter).export(isNull(),
+                eq(LocalDateTime.of(2022, 6, 1, 0, 0)),
+                eq(LocalDateTime.of(2022, 6, 2, 0, 0)),
+                eq(ExportFormat.NDJSON), any());
+    }
+
     @Test
     void successQueryTransaction() throws Exception {
         //given
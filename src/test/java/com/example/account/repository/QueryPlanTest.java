@@ -0,0 +1,59 @@
+package com.example.account.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 요청마다 실행되는 조회가 인덱스를 타는지 H2 EXPLAIN 으로 확인.
+ * H2 는 풀 스캔일 때 실행 계획에 "tableScan" 을 남긴다.
+ */
+@DataJpaTest
+class QueryPlanTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("계좌번호로 계좌 조회")
+    void findByAccountNumber() {
+        assertIndexed("select * from account where account_number = '1000000000'");
+    }
+
+    @Test
+    @DisplayName("사용자별 계좌 목록 조회")
+    void findDtosByUserId() {
+        assertIndexed("select * from account where account_user_id = 1");
+    }
+
+    @Test
+    @DisplayName("거래 ID 로 거래 조회")
+    void findByTransactionId() {
+        assertIndexed("select * from transaction where transaction_id = 'transactionId'");
+    }
+
+    @Test
+    @DisplayName("계좌별 거래 이력 조회는 커서 시각에서 인덱스 범위를 시작")
+    void findHistoryByAccount() {
+        String plan = assertIndexed("select * from transaction where account_id = 1" +
+                " and transacted_at >= '2000-01-01 00:00:00'" +
+                " and transacted_at <= now()" +
+                " and (transacted_at < now() or (transacted_at = now() and id < 100))" +
+                " order by transacted_at desc, id desc limit 21");
+
+        // 인덱스 조건은 /* 인덱스명: 조건 */ 으로 출력됨
+        String indexCondition = plan.substring(plan.indexOf("/*"), plan.indexOf("*/"));
+        assertTrue(indexCondition.toUpperCase().contains("TRANSACTED_AT <="),
+                () -> "no range start: " + plan);
+    }
+
+    private String assertIndexed(String sql) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+        assertFalse(plan.contains("tableScan"), () -> "full scan: " + plan);
+        return plan;
+    }
+}
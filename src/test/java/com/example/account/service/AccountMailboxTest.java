@@ -0,0 +1,121 @@
+package com.example.account.service;
+
+import com.example.account.config.LockProperties;
+import com.example.account.exception.AccountException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountMailboxTest {
+
+    @Test
+    void runInSubmitOrderPerAccount() {
+        //given
+        AccountMailbox accountMailbox = new AccountMailbox(new LockProperties());
+        List<Integer> executed = new ArrayList<>();
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+
+        //when
+        CompletableFuture<Integer> firstResult = accountMailbox.submit("1234567890", () -> {
+            executed.add(1);
+            return first;
+        });
+        CompletableFuture<Integer> secondResult = accountMailbox.submit("1234567890", () -> {
+            executed.add(2);
+            return CompletableFuture.completedFuture(2);
+        });
+
+        //then
+        assertEquals(1, executed.size());
+        assertFalse(secondResult.isDone());
+
+        first.complete(1);
+        assertEquals(1, firstResult.join());
+        assertEquals(2, secondResult.join());
+        assertEquals(Arrays.asList(1, 2), executed);
+        assertEquals(0, accountMailbox.pendingCount("1234567890"));
+    }
+
+    @Test
+    void continueAfterFailedTask() {
+        //given
+        AccountMailbox accountMailbox = new AccountMailbox(new LockProperties());
+
+        //when
+        CompletableFuture<Integer> failed = accountMailbox.submit("1234567890", () -> {
+            throw new IllegalStateException();
+        });
+        CompletableFuture<Integer> next = accountMailbox.submit("1234567890",
+                () -> CompletableFuture.completedFuture(2));
+
+        //then
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(2, next.join());
+    }
+
+    @Test
+    void rejectWhenMailboxIsFull() {
+        //given
+        LockProperties lockProperties = new LockProperties();
+        lockProperties.setMailboxCapacity(1);
+        AccountMailbox accountMailbox = new AccountMailbox(lockProperties);
+        accountMailbox.submit("1234567890", CompletableFuture::new);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountMailbox.submit("1234567890",
+                        () -> CompletableFuture.completedFuture(1)));
+
+        //then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertDoesNotThrow(() -> accountMailbox.submit("1234567891",
+                () -> CompletableFuture.completedFuture(1)));
+    }
+
+    @Test
+    void awaitTurnAfterQueuedAsyncTask() {
+        //given
+        AccountMailbox accountMailbox = new AccountMailbox(new LockProperties());
+        CompletableFuture<Integer> asyncTask = new CompletableFuture<>();
+        accountMailbox.submit("1234567890", () -> asyncTask);
+        CompletableFuture<Runnable> syncTurn = CompletableFuture.supplyAsync(
+                () -> accountMailbox.awaitTurn("1234567890", 5000L));
+
+        //when
+        assertThrows(Exception.class, () -> syncTurn.get(200, TimeUnit.MILLISECONDS));
+        asyncTask.complete(1);
+        Runnable release = syncTurn.join();
+        CompletableFuture<Integer> next = accountMailbox.submit("1234567890",
+                () -> CompletableFuture.completedFuture(2));
+
+        //then
+        assertFalse(next.isDone());
+        release.run();
+        assertEquals(2, next.join());
+        assertEquals(0, accountMailbox.pendingCount("1234567890"));
+    }
+
+    @Test
+    void awaitTurnTimeout() {
+        //given
+        AccountMailbox accountMailbox = new AccountMailbox(new LockProperties());
+        CompletableFuture<Integer> asyncTask = new CompletableFuture<>();
+        accountMailbox.submit("1234567890", () -> asyncTask);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountMailbox.awaitTurn("1234567890", 50L));
+        asyncTask.complete(1);
+
+        //then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertEquals(0, accountMailbox.pendingCount("1234567890"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberAllocatorTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void allocateFromReservedBlock() {
+        //given
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+                .willReturn(1L, 2L);
+        AccountNumberAllocator allocator = new AccountNumberAllocator(jdbcTemplate, 3);
+
+        //when
+        //then
+        assertEquals("1000000003", allocator.allocate());
+        assertEquals("1000000004", allocator.allocate());
+        assertEquals("1000000005", allocator.allocate());
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class));
+
+        assertEquals("1000000006", allocator.allocate());
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class));
+    }
+}
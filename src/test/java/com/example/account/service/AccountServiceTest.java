@@ -4,9 +4,9 @@ import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
 import com.example.account.exception.AccountException;
-import com.example.account.repository.AccountUserRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
 import com.example.account.type.ErrorCode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,8 +14,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static com.example.account.type.AccountStatus.*;
@@ -23,6 +27,8 @@ import static com.example.account.type.ErrorCode.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -34,6 +40,19 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private AccountUserCache accountUserCache;
+
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Spy
+    private ShardResolver shardResolver = new ShardResolver(1);
+
+    @Spy
+    private ShardTemplate shardTemplate =
+            new ShardTemplate(new ShardResolver(1), mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private AccountService accountService;
 
@@ -45,11 +64,12 @@ class AccountServiceTest {
                 .id(1L)
                 .name("hong")
                 .build();
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(accountUser));
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.of(Account.builder()
-                        .accountNumber("1000000011").build()));
+        given(accountUserRepository.incrementAccountCount(anyLong(), anyInt()))
+                .willReturn(1);
+        given(accountNumberAllocator.allocate())
+                .willReturn("1000000012");
         given(accountRepository.save(any()))
                 .willReturn(Account.builder()
                         .accountUser(accountUser)
@@ -64,13 +84,39 @@ class AccountServiceTest {
         verify(accountRepository, times(1)).save(captor.capture());
         assertEquals(1L, accountDto.getUserId());
         assertEquals("1000000012", captor.getValue().getAccountNumber());
+        verify(accountUserRepository, never()).decrementAccountCount(anyLong());
+    }
+
+    @Test
+    @DisplayName("계좌 저장 실패 - 확보한 계좌 수를 되돌림")
+    void createAccountFailed_releaseAccountCount() {
+        //given
+        AccountUser accountUser = AccountUser.builder()
+                .id(1L)
+                .name("hong")
+                .build();
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(accountUser));
+        given(accountUserRepository.incrementAccountCount(anyLong(), anyInt()))
+                .willReturn(1);
+        given(accountNumberAllocator.allocate())
+                .willReturn("1000000012");
+        given(accountRepository.save(any()))
+                .willThrow(new IllegalStateException("save failed"));
+
+        //when
+        assertThrows(IllegalStateException.class,
+                () -> accountService.createAccount(1L, 1000L));
+
+        //then
+        verify(accountUserRepository, times(1)).decrementAccountCount(1L);
     }
 
     @Test
     @DisplayName("해당 유저 없음 - 계좌 생성 실패")
     void userNotFound() {
         //given
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.empty());
 
         //when
@@ -89,10 +135,10 @@ class AccountServiceTest {
                 .id(12L)
                 .name("hong")
                 .build();
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(user));
-        given(accountRepository.countByAccountUser(any()))
-                .willReturn(10);
+        given(accountUserRepository.incrementAccountCount(anyLong(), eq(10)))
+                .willReturn(0);
 
         //when
         AccountException exception = assertThrows(AccountException.class,
@@ -100,13 +146,40 @@ class AccountServiceTest {
 
         //then
         assertEquals(MAX_ACCOUNT_PER_USER_10, exception.getErrorCode());
+        verify(accountNumberAllocator, never()).allocate();
+    }
+
+    @Test
+    @DisplayName("계좌 해지 성공 - 계좌 수를 내림")
+    void deleteAccountSuccess() {
+        //given
+        AccountUser kim = AccountUser.builder()
+                .id(1L).name("kim").build();
+        Account account = Account.builder()
+                .accountUser(kim)
+                .accountStatus(IN_USE)
+                .balance(0L)
+                .accountNumber("1000000012")
+                .build();
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(kim));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        //when
+        AccountDto accountDto = accountService.deleteAccount(1L, "1000000012");
+
+        //then
+        assertEquals(UNREGISTERED, account.getAccountStatus());
+        assertEquals("1000000012", accountDto.getAccountNumber());
+        verify(accountUserRepository, times(1)).decrementAccountCount(1L);
     }
 
     @Test
     @DisplayName("해당 유저 없음 - 계좌 해지 실패")
     void deleteAccount_UserNotFound() {
         //given
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.empty());
 
         //when
@@ -125,7 +198,7 @@ class AccountServiceTest {
         AccountUser user = AccountUser.builder()
                 .name("kim").build();
         user.setId(12L);
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(user));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.empty());
@@ -147,7 +220,7 @@ class AccountServiceTest {
         AccountUser hong = AccountUser.builder()
                 .id(2L).name("hong").build();
 
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(kim));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -162,6 +235,7 @@ class AccountServiceTest {
 
         //then
         assertEquals(USER_ACCOUNT_UNMATCH, exception.getErrorCode());
+        verify(accountUserRepository, never()).decrementAccountCount(anyLong());
     }
 
     @Test
@@ -170,7 +244,7 @@ class AccountServiceTest {
         //given
         AccountUser kim = AccountUser.builder()
                 .id(1L).name("kim").build();
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(kim));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -193,7 +267,7 @@ class AccountServiceTest {
         //given
         AccountUser kim = AccountUser.builder()
                 .id(1L).name("kim").build();
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(kim));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -211,13 +285,50 @@ class AccountServiceTest {
         assertEquals(ACCOUNT_ALREADY_UNREGISTERED, exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("유저의 계좌 목록 조회 성공")
+    void getAccountsByUserId() {
+        //given
+        given(accountUserCache.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findDtosByUserId(anyLong()))
+                .willReturn(Arrays.asList(
+                        AccountDto.builder().userId(1L)
+                                .accountNumber("1000000000").balance(1000L).build(),
+                        AccountDto.builder().userId(1L)
+                                .accountNumber("1000000001").balance(2000L).build()));
+
+        //when
+        List<AccountDto> accountDtos = accountService.getAccountsByUserId(1L);
+
+        //then
+        assertEquals(2, accountDtos.size());
+        assertEquals("1000000001", accountDtos.get(1).getAccountNumber());
+        verify(accountRepository, never()).findByAccountUser(any());
+    }
+
+    @Test
+    @DisplayName("해당 유저 없음 - 계좌 목록 조회 실패")
+    void getAccountsByUserId_UserNotFound() {
+        //given
+        given(accountUserCache.existsById(anyLong()))
+                .willReturn(false);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountService.getAccountsByUserId(1L));
+
+        //then
+        assertEquals(USER_NOT_FOUND, exception.getErrorCode());
+    }
+
 //    @Test
 //    @DisplayName("사용되고 있는 계좌번호가 있음 - 계좌 생성 실패")
 //    void createAccountFailed_alreadyUseAccountNumber() {
 //        //given
 //        AccountUser kim = AccountUser.builder()
 //                .id(1L).name("kim").build();
-//        given(accountUserRepository.findById(anyLong()))
+//        given(accountUserCache.findById(anyLong()))
 //                .willReturn(Optional.of(kim));
 //        given(accountRepository.findByAccountNumber(anyString()))
 //                .willReturn(Optional.of(Account.builder()
@@ -0,0 +1,64 @@
+package com.example.account.service;
+
+import com.example.account.domain.AccountUser;
+import com.example.account.repository.AccountUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountUserCacheTest {
+    @Mock
+    private AccountUserRepository accountUserRepository;
+
+    private AccountUserCache accountUserCache;
+
+    @BeforeEach
+    void setUp() {
+        accountUserCache = new AccountUserCache(accountUserRepository, 100, 60000);
+    }
+
+    @Test
+    @DisplayName("캐시된 사용자는 다시 조회하지 않음")
+    void findByIdCached() {
+        //given
+        AccountUser user = AccountUser.builder().id(12L).name("Pobi").build();
+        given(accountUserRepository.findById(12L))
+                .willReturn(Optional.of(user));
+
+        //when
+        accountUserCache.findById(12L);
+        Optional<AccountUser> cached = accountUserCache.findById(12L);
+
+        //then
+        assertEquals("Pobi", cached.get().getName());
+        verify(accountUserRepository, times(1)).findById(12L);
+    }
+
+    @Test
+    @DisplayName("없는 사용자는 캐시하지 않음")
+    void userNotFoundIsNotCached() {
+        //given
+        given(accountUserRepository.findById(12L))
+                .willReturn(Optional.empty());
+
+        //when
+        boolean first = accountUserCache.existsById(12L);
+        boolean second = accountUserCache.existsById(12L);
+
+        //then
+        assertFalse(first);
+        assertFalse(second);
+        verify(accountUserRepository, times(2)).findById(12L);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.account.service;
+
+import com.example.account.config.TransactionProperties;
+import com.example.account.dto.FailedTransaction;
+import com.example.account.type.FailedRecordOverflow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionRecorderTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Test
+    void flushInBatches() {
+        //given
+        FailedTransactionRecorder recorder = recorder(10, 2, FailedRecordOverflow.CALLER_RUNS);
+        ArgumentCaptor<List<FailedTransaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            recorder.record(new FailedTransaction(USE, "1000000000", 1000L));
+        }
+
+        //then
+        verify(transactionService, never()).saveFailedTransactions(anyList());
+        assertEquals(2, recorder.flush());
+        assertEquals(1, recorder.flush());
+        verify(transactionService, times(2)).saveFailedTransactions(captor.capture());
+        assertEquals(2, captor.getAllValues().get(0).size());
+        assertEquals(1, captor.getAllValues().get(1).size());
+    }
+
+    @Test
+    void callerRunsWhenQueueIsFull() {
+        //given
+        FailedTransactionRecorder recorder = recorder(1, 10, FailedRecordOverflow.CALLER_RUNS);
+
+        //when
+        recorder.record(new FailedTransaction(USE, "1000000000", 1000L));
+        recorder.record(new FailedTransaction(USE, "1000000000", 2000L));
+
+        //then
+        verify(transactionService, times(1)).saveFailedTransactions(anyList());
+        assertEquals(1, recorder.pendingCount());
+    }
+
+    @Test
+    void dropWhenQueueIsFull() {
+        //given
+        FailedTransactionRecorder recorder = recorder(1, 10, FailedRecordOverflow.DROP);
+
+        //when
+        recorder.record(new FailedTransaction(USE, "1000000000", 1000L));
+        recorder.record(new FailedTransaction(USE, "1000000000", 2000L));
+
+        //then
+        verify(transactionService, never()).saveFailedTransactions(anyList());
+        assertEquals(1, recorder.droppedCount());
+    }
+
+    @Test
+    void drainOnStop() throws InterruptedException {
+        //given
+        FailedTransactionRecorder recorder = recorder(10, 2, FailedRecordOverflow.CALLER_RUNS);
+        for (int i = 0; i < 5; i++) {
+            recorder.record(new FailedTransaction(USE, "1000000000", 1000L));
+        }
+
+        //when
+        recorder.stop();
+
+        //then
+        assertEquals(0, recorder.pendingCount());
+        verify(transactionService, times(3)).saveFailedTransactions(anyList());
+    }
+
+    private FailedTransactionRecorder recorder(int capacity, int batchSize,
+                                               FailedRecordOverflow overflow) {
+        TransactionProperties properties = new TransactionProperties();
+        properties.setFailedRecordQueueCapacity(capacity);
+        properties.setFailedRecordBatchSize(batchSize);
+        properties.setFailedRecordOverflow(overflow);
+
+        return new FailedTransactionRecorder(transactionService, properties);
+    }
+}
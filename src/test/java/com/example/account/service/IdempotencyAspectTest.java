@@ -0,0 +1,160 @@
+package com.example.account.service;
+
+import com.example.account.config.IdempotencyProperties;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+
+import static com.example.account.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static com.example.account.type.ErrorCode.IDEMPOTENCY_KEY_REUSED;
+import static com.example.account.type.TransactionResultType.SUCCESS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private MethodSignature methodSignature;
+
+    private final MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+
+    private IdempotencyAspect idempotencyAspect;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        IdempotencyProperties idempotencyProperties = new IdempotencyProperties();
+        idempotencyProperties.setRedisEnabled(false);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        idempotencyAspect = new IdempotencyAspect(
+                new IdempotencyStore(idempotencyProperties, null, objectMapper), objectMapper);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpRequest));
+
+        lenient().when(proceedingJoinPoint.getSignature()).thenReturn(methodSignature);
+        lenient().when(methodSignature.toShortString()).thenReturn("Endpoint.use(..)");
+        lenient().when(methodSignature.getReturnType()).thenReturn((Class) UseBalance.Response.class);
+        lenient().when(methodSignature.getMethod()).thenReturn(
+                Endpoint.class.getMethod("use", UseBalance.Request.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("같은 키로 다시 오면 실행하지 않고 저장한 응답을 돌려줌")
+    void replayStoredResponse() throws Throwable {
+        //given
+        httpRequest.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        given(proceedingJoinPoint.getArgs())
+                .willReturn(new Object[]{new UseBalance.Request(1L, "1000000000", 1000L)});
+        given(proceedingJoinPoint.proceed())
+                .willReturn(response("transactionId"));
+
+        //when
+        idempotencyAspect.aroundMethod(proceedingJoinPoint, null);
+        UseBalance.Response replayed = (UseBalance.Response)
+                idempotencyAspect.aroundMethod(proceedingJoinPoint, null);
+
+        //then
+        verify(proceedingJoinPoint, times(1)).proceed();
+        assertEquals("transactionId", replayed.getTransactionId());
+        assertEquals(SUCCESS, replayed.getTransactionResult());
+        assertEquals(1000L, replayed.getAmount());
+    }
+
+    @Test
+    @DisplayName("같은 키를 다른 요청에 쓰면 실패")
+    void keyReusedForDifferentRequest() throws Throwable {
+        //given
+        httpRequest.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        given(proceedingJoinPoint.getArgs())
+                .willReturn(new Object[]{new UseBalance.Request(1L, "1000000000", 1000L)})
+                .willReturn(new Object[]{new UseBalance.Request(1L, "1000000000", 2000L)});
+        given(proceedingJoinPoint.proceed())
+                .willReturn(response("transactionId"));
+
+        //when
+        idempotencyAspect.aroundMethod(proceedingJoinPoint, null);
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyAspect.aroundMethod(proceedingJoinPoint, null));
+
+        //then
+        assertEquals(IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+        verify(proceedingJoinPoint, times(1)).proceed();
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 저장하지 않아서 같은 키로 다시 실행됨")
+    void failedRequestIsNotStored() throws Throwable {
+        //given
+        httpRequest.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        given(proceedingJoinPoint.getArgs())
+                .willReturn(new Object[]{new UseBalance.Request(1L, "1000000000", 1000L)});
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new AccountException(AMOUNT_EXCEED_BALANCE))
+                .willReturn(response("transactionId"));
+
+        //when
+        assertThrows(AccountException.class,
+                () -> idempotencyAspect.aroundMethod(proceedingJoinPoint, null));
+        UseBalance.Response retried = (UseBalance.Response)
+                idempotencyAspect.aroundMethod(proceedingJoinPoint, null);
+
+        //then
+        verify(proceedingJoinPoint, times(2)).proceed();
+        assertEquals("transactionId", retried.getTransactionId());
+    }
+
+    @Test
+    @DisplayName("키가 없으면 매번 실행")
+    void withoutKey() throws Throwable {
+        //given
+        given(proceedingJoinPoint.proceed())
+                .willReturn(response("transactionId"));
+
+        //when
+        idempotencyAspect.aroundMethod(proceedingJoinPoint, null);
+        idempotencyAspect.aroundMethod(proceedingJoinPoint, null);
+
+        //then
+        verify(proceedingJoinPoint, times(2)).proceed();
+    }
+
+    private static UseBalance.Response response(String transactionId) {
+        return UseBalance.Response.builder()
+                .accountNumber("1000000000")
+                .transactionResult(SUCCESS)
+                .transactionId(transactionId)
+                .amount(1000L)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    static class Endpoint {
+        public UseBalance.Response use(UseBalance.Request request) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.account.service;
+
+import com.example.account.config.IdempotencyProperties;
+import com.example.account.dto.IdempotentRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties idempotencyProperties = new IdempotencyProperties();
+        idempotencyProperties.setRedisEnabled(false);
+        idempotencyStore = new IdempotencyStore(idempotencyProperties, null, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("자신의 처리 중 표시를 지우면 같은 키로 다시 시작 가능")
+    void abandonOwnMarker() {
+        //given
+        IdempotentRecord first = IdempotentRecord.inProgress("fingerprint");
+        idempotencyStore.begin("key-1", first);
+
+        //when
+        idempotencyStore.abandon("key-1", first);
+
+        //then
+        assertNull(idempotencyStore.begin("key-1", IdempotentRecord.inProgress("fingerprint")));
+    }
+
+    @Test
+    @DisplayName("다른 요청이 차지한 키는 늦게 실패한 요청이 지우지 않음")
+    void abandonKeepsOtherRequestMarker() {
+        //given
+        IdempotentRecord first = IdempotentRecord.inProgress("fingerprint");
+        IdempotentRecord second = IdempotentRecord.inProgress("fingerprint");
+        idempotencyStore.begin("key-1", first);
+        // 첫 요청의 표시가 만료된 뒤 같은 요청이 다시 와서 키를 차지한 상황
+        idempotencyStore.abandon("key-1", first);
+        idempotencyStore.begin("key-1", second);
+
+        //when
+        idempotencyStore.abandon("key-1", first);
+
+        //then
+        IdempotentRecord existing = idempotencyStore.begin("key-1",
+                IdempotentRecord.inProgress("fingerprint"));
+        assertEquals(second, existing);
+        assertFalse(existing.isCompleted());
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.account.service;
 
+import com.example.account.aop.AccountLock;
+import com.example.account.config.LockPolicy;
+import com.example.account.config.LockProperties;
 import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
@@ -9,10 +12,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.account.type.AsyncLockMode.SERIAL_QUEUE;
+import static com.example.account.type.BackoffStrategy.FAIL_FAST;
+import static com.example.account.type.LockStrategy.DISTRIBUTED;
+import static com.example.account.type.LockStrategy.NONE;
+import static com.example.account.type.LockStrategy.OPTIMISTIC;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -25,6 +42,18 @@ class LockAopAspectTest {
     @Mock
     private ProceedingJoinPoint proceedingJoinPoint;
 
+    @Mock
+    private LockMetrics lockMetrics;
+
+    @Spy
+    private LockProperties lockProperties = new LockProperties();
+
+    @Spy
+    private AccountMailbox accountMailbox = new AccountMailbox(lockProperties);
+
+    @Spy
+    private VersionConflictRetry versionConflictRetry = new VersionConflictRetry(lockProperties);
+
     @InjectMocks
     private LockAopAspect lockAopAspect;
 
@@ -36,11 +65,11 @@ class LockAopAspectTest {
         UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 10000L);
 
         //when
-        lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
 
         //then
         verify(lockService, times(1))
-                .lock(lockArgumentCaptor.capture());
+                .lock(lockArgumentCaptor.capture(), any());
         verify(lockService, times(1))
                 .unlock(unlockArgumentCaptor.capture());
 
@@ -62,12 +91,239 @@ class LockAopAspectTest {
 
         //when
         assertThrows(AccountException.class, () ->
-                lockAopAspect.aroundMethod(proceedingJoinPoint, request));
+                lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request));
 
         //then
-        verify(lockService, times(1)).lock(lockArgumentCaptor.capture());
+        verify(lockService, times(1)).lock(lockArgumentCaptor.capture(), any());
         verify(lockService, times(1)).unlock(unlockArgumentCaptor.capture());
         assertEquals("1234567890", lockArgumentCaptor.getValue());
         assertEquals("1234567890", unlockArgumentCaptor.getValue());
     }
+
+    @Test
+    void lockAsyncAndUnlockOnCompletion() throws Throwable {
+        //given
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        given(lockService.lockAsync(eq("1234567890"), any()))
+                .willReturn(CompletableFuture.completedFuture(-1L));
+        given(lockService.unlockAsync("1234567890", -1L))
+                .willReturn(CompletableFuture.completedFuture(null));
+        given(proceedingJoinPoint.proceed()).willReturn(result);
+
+        //when
+        CompletableFuture<?> future = (CompletableFuture<?>)
+                lockAopAspect.aroundAsyncMethod(proceedingJoinPoint, accountLock(), request);
+
+        //then
+        verify(lockService, never()).unlockAsync(anyString(), anyLong());
+        result.complete("done");
+        assertEquals("done", future.join());
+        verify(lockService, times(1)).unlockAsync("1234567890", -1L);
+        verify(lockService, never()).lock(anyString(), any());
+    }
+
+    @Test
+    void lockAsyncAndUnlock_evenIfFail() throws Throwable {
+        //given
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+        given(lockService.lockAsync(eq("1234567890"), any()))
+                .willReturn(CompletableFuture.completedFuture(-1L));
+        given(lockService.unlockAsync("1234567890", -1L))
+                .willReturn(CompletableFuture.completedFuture(null));
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        //when
+        CompletableFuture<?> future = (CompletableFuture<?>)
+                lockAopAspect.aroundAsyncMethod(proceedingJoinPoint, accountLock(), request);
+
+        //then
+        assertTrue(future.isCompletedExceptionally());
+        verify(lockService, times(1)).unlockAsync("1234567890", -1L);
+    }
+
+    @Test
+    void serialQueueModeSkipsDistributedLock() throws Throwable {
+        //given
+        lockProperties.setAsyncMode(SERIAL_QUEUE);
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+        given(proceedingJoinPoint.proceed())
+                .willReturn(CompletableFuture.completedFuture("done"));
+
+        //when
+        CompletableFuture<?> future = (CompletableFuture<?>)
+                lockAopAspect.aroundAsyncMethod(proceedingJoinPoint, accountLock(), request);
+
+        //then
+        assertEquals("done", future.join());
+        verify(accountMailbox, times(1)).submit(anyString(), any());
+        verify(lockService, never()).lockAsync(anyString(), any());
+    }
+
+    @Test
+    void serialQueueModeQueuesSyncCallInMailbox() throws Throwable {
+        //given
+        lockProperties.setAsyncMode(SERIAL_QUEUE);
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+        given(proceedingJoinPoint.proceed()).willReturn("done");
+
+        //when
+        Object result = lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
+
+        //then
+        assertEquals("done", result);
+        verify(accountMailbox, times(1)).awaitTurn(eq("1234567890"), anyLong());
+        verify(lockService, never()).lock(anyString(), any());
+        assertEquals(0, accountMailbox.pendingCount("1234567890"));
+    }
+
+    @Test
+    void optimisticRetryWithoutDistributedLock() throws Throwable {
+        //given
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L))
+                .willReturn("done");
+
+        //when
+        Object result = lockAopAspect.aroundMethod(
+                proceedingJoinPoint, optimisticAccountLock(), request);
+
+        //then
+        assertEquals("done", result);
+        verify(proceedingJoinPoint, times(2)).proceed();
+        verify(lockService, never()).lock(anyString(), any());
+        verify(lockService, never()).unlock(anyString());
+    }
+
+    @Test
+    void optimisticRetryExhausted() throws Throwable {
+        //given
+        lockProperties.setStrategy(OPTIMISTIC);
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(proceedingJoinPoint, times(3)).proceed();
+    }
+
+    @Test
+    void distributedLockRetriesVersionConflictWhileHoldingLock() throws Throwable {
+        //given
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L))
+                .willReturn("done");
+
+        //when
+        Object result = lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
+
+        //then
+        assertEquals("done", result);
+        verify(proceedingJoinPoint, times(2)).proceed();
+        verify(lockService, times(1)).lock(eq("1234567890"), any());
+        verify(lockService, times(1)).unlock("1234567890");
+    }
+
+    @Test
+    void distributedLockVersionConflictExhausted() throws Throwable {
+        //given
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+        given(proceedingJoinPoint.proceed())
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(proceedingJoinPoint, times(3)).proceed();
+        verify(lockService, times(1)).unlock("1234567890");
+    }
+
+    @Test
+    void configuredPolicyOverridesAnnotation() throws Throwable {
+        //given
+        lockProperties.getPolicies().put("use", LockPolicy.builder()
+                .waitTimeMillis(3000L)
+                .backoff(FAIL_FAST)
+                .build());
+        ArgumentCaptor<LockPolicy> policyCaptor = ArgumentCaptor.forClass(LockPolicy.class);
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+
+        //when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, usePolicyAccountLock(), request);
+
+        //then
+        verify(lockService, times(1)).lock(eq("1234567890"), policyCaptor.capture());
+        assertEquals(3000L, policyCaptor.getValue().getWaitTimeMillis());
+        assertEquals(20000L, policyCaptor.getValue().getLeaseTimeMillis());
+        assertEquals(FAIL_FAST, policyCaptor.getValue().getBackoff());
+        assertEquals(DISTRIBUTED, policyCaptor.getValue().getStrategy());
+    }
+
+    @Test
+    void globalNoneStrategyStillLocks() throws Throwable {
+        //given
+        lockProperties.setStrategy(NONE);
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+
+        //when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
+
+        //then
+        verify(lockService, times(1)).lock(eq("1234567890"), any());
+        verify(lockService, times(1)).unlock("1234567890");
+    }
+
+    @Test
+    void policyNoneStrategySkipsLock() throws Throwable {
+        //given
+        lockProperties.getPolicies().put("use", LockPolicy.builder()
+                .strategy(NONE)
+                .build());
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+
+        //when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, usePolicyAccountLock(), request);
+
+        //then
+        verify(proceedingJoinPoint, times(1)).proceed();
+        verify(lockService, never()).lock(anyString(), any());
+    }
+
+    @AccountLock
+    private void defaultLocked() {
+    }
+
+    @AccountLock(strategy = OPTIMISTIC)
+    private void optimisticLocked() {
+    }
+
+    @AccountLock(policy = "use", tryLockTime = 500L, leaseTime = 20000L)
+    private void usePolicyLocked() {
+    }
+
+    private static AccountLock usePolicyAccountLock() throws NoSuchMethodException {
+        return LockAopAspectTest.class.getDeclaredMethod("usePolicyLocked")
+                .getAnnotation(AccountLock.class);
+    }
+
+    private static AccountLock accountLock() throws NoSuchMethodException {
+        return LockAopAspectTest.class.getDeclaredMethod("defaultLocked")
+                .getAnnotation(AccountLock.class);
+    }
+
+    private static AccountLock optimisticAccountLock() throws NoSuchMethodException {
+        return LockAopAspectTest.class.getDeclaredMethod("optimisticLocked")
+                .getAnnotation(AccountLock.class);
+    }
 }
@@ -0,0 +1,75 @@
+package com.example.account.service;
+
+import com.example.account.config.LockProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockMetricsTest {
+
+    @Test
+    void hottestAccountsOrderedByWaitTime() {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LockMetrics lockMetrics = new LockMetrics(meterRegistry, new LockProperties());
+
+        //when
+        lockMetrics.recordAcquired("1000000000", TimeUnit.MILLISECONDS.toNanos(5));
+        lockMetrics.recordAcquired("2000000000", TimeUnit.MILLISECONDS.toNanos(30));
+        lockMetrics.recordFailed("2000000000", TimeUnit.MILLISECONDS.toNanos(1000));
+        lockMetrics.recordHeld(TimeUnit.MILLISECONDS.toNanos(3));
+        List<LockMetrics.HotAccount> hottest = lockMetrics.hottest(1);
+
+        //then
+        assertEquals(1, hottest.size());
+        assertEquals("2000000000", hottest.get(0).getAccountNumber());
+        assertEquals(2, hottest.get(0).getRequests());
+        assertEquals(1, hottest.get(0).getFailures());
+        assertEquals(1030, hottest.get(0).getTotalWaitMillis());
+        assertEquals(1.0, meterRegistry.get("account.lock.failures").counter().count());
+        assertEquals(2, meterRegistry.get("account.lock.acquire")
+                .tag("result", "acquired").timer().count());
+        assertEquals(1, meterRegistry.get("account.lock.hold").timer().count());
+    }
+
+    @Test
+    void trackedAccountsAreBounded() {
+        //given
+        LockProperties lockProperties = new LockProperties();
+        lockProperties.setMetricsMaxTrackedAccounts(2);
+        LockMetrics lockMetrics = new LockMetrics(new SimpleMeterRegistry(), lockProperties);
+
+        //when
+        lockMetrics.recordAcquired("1000000000", 1L);
+        lockMetrics.recordAcquired("2000000000", 1L);
+        lockMetrics.recordAcquired("3000000000", 1L);
+
+        //then
+        assertEquals(2, lockMetrics.hottest(10).size());
+    }
+
+    @Test
+    void trackNewlyHotAccountAfterFull() {
+        //given
+        LockProperties lockProperties = new LockProperties();
+        lockProperties.setMetricsMaxTrackedAccounts(100);
+        LockMetrics lockMetrics = new LockMetrics(new SimpleMeterRegistry(), lockProperties);
+        for (int i = 0; i < 1000; i++) {
+            lockMetrics.recordAcquired(String.valueOf(1_000_000_000L + i), 1L);
+        }
+
+        //when
+        for (int i = 0; i < 50; i++) {
+            lockMetrics.recordAcquired("9000000000", TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        List<LockMetrics.HotAccount> hottest = lockMetrics.hottest(1);
+
+        //then
+        assertEquals("9000000000", hottest.get(0).getAccountNumber());
+        assertTrue(lockMetrics.hottest(1000).size() <= 100);
+    }
+}
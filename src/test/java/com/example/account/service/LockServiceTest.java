@@ -1,19 +1,38 @@
 package com.example.account.service;
 
+import com.example.account.config.LockPolicy;
+import com.example.account.config.LockProperties;
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.BackoffStrategy.EXPONENTIAL_JITTER;
+import static com.example.account.type.BackoffStrategy.FAIL_FAST;
 import static com.example.account.type.ErrorCode.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class LockServiceTest {
@@ -23,6 +42,12 @@ class LockServiceTest {
     @Mock
     private RLock rLock;
 
+    @Mock
+    private LockMetrics lockMetrics;
+
+    @Spy
+    private LocalLockTier localLockTier = new LocalLockTier(new LockProperties());
+
     @InjectMocks
     private LockService lockService;
 
@@ -53,5 +78,175 @@ class LockServiceTest {
 
         //then
         assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(lockMetrics, times(1)).recordFailed(eq("1234567890"), anyLong());
+    }
+
+    @Test
+    void failGetLock_releaseLocalLock() throws InterruptedException {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(false);
+
+        //when
+        assertThrows(AccountException.class,
+                () -> lockService.lock("1234567890"));
+
+        //then
+        verify(localLockTier, times(1)).unlock("1234567890");
+    }
+
+    @Test
+    void unlock_releaseLocalLockEvenIfRedisFails() throws InterruptedException {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true);
+        willThrow(new IllegalMonitorStateException()).given(rLock).unlock();
+        lockService.lock("1234567890");
+
+        //when
+        assertThrows(IllegalMonitorStateException.class,
+                () -> lockService.unlock("1234567890"));
+
+        //then
+        verify(localLockTier, times(1)).unlock("1234567890");
+    }
+
+    @Test
+    void failFastPolicyDoesNotWait() throws InterruptedException {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(false);
+        LockPolicy policy = LockPolicy.defaults().toBuilder()
+                .backoff(FAIL_FAST)
+                .build();
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lock("1234567890", policy));
+
+        //then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(rLock, times(1)).tryLock(eq(0L), eq(15000L), any());
+    }
+
+    @Test
+    void exponentialBackoffRetriesUntilAcquired() throws InterruptedException {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(false, false, true);
+        LockPolicy policy = LockPolicy.defaults().toBuilder()
+                .backoff(EXPONENTIAL_JITTER)
+                .waitTimeMillis(5000L)
+                .leaseTimeMillis(-1L)
+                .build();
+
+        //when
+        assertDoesNotThrow(() -> lockService.lock("1234567890", policy));
+
+        //then
+        verify(rLock, times(3)).tryLock(eq(0L), eq(-1L), any());
+    }
+
+    @Test
+    void exponentialBackoffGivesUpAfterWaitTime() throws InterruptedException {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(false);
+        LockPolicy policy = LockPolicy.defaults().toBuilder()
+                .backoff(EXPONENTIAL_JITTER)
+                .waitTimeMillis(100L)
+                .build();
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lock("1234567890", policy));
+
+        //then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(rLock, atLeast(2)).tryLock(eq(0L), anyLong(), any());
+    }
+
+    @Test
+    void lockAllInAccountNumberOrder() throws InterruptedException {
+        //given
+        RLock firstLock = mock(RLock.class);
+        RLock secondLock = mock(RLock.class);
+        given(redissonClient.getLock("ACLK1000000000")).willReturn(firstLock);
+        given(redissonClient.getLock("ACLK2000000000")).willReturn(secondLock);
+        given(redissonClient.getMultiLock(any())).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true);
+        ArgumentCaptor<RLock> captor = ArgumentCaptor.forClass(RLock.class);
+
+        //when
+        lockService.lockAll(Arrays.asList("2000000000", "1000000000"), LockPolicy.defaults());
+
+        //then
+        verify(redissonClient).getMultiLock(captor.capture());
+        assertEquals(Arrays.asList(firstLock, secondLock), captor.getAllValues());
+        verify(localLockTier).tryLock(eq("1000000000"), anyLong(), any());
+        verify(localLockTier).tryLock(eq("2000000000"), anyLong(), any());
+    }
+
+    @Test
+    void lockAllInStripeOrderWhenStripesCross() throws Exception {
+        //given
+        LockProperties lockProperties = new LockProperties();
+        lockProperties.setLocalStripes(2);
+        LocalLockTier twoStripes = new LocalLockTier(lockProperties);
+        LockService service = new LockService(redissonClient, twoStripes, lockMetrics);
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(redissonClient.getMultiLock(any())).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any())).willReturn(true);
+
+        // 계좌번호 순서로는 한 쌍은 스트라이프 1 -> 0, 다른 쌍은 0 -> 1 순서가 됨
+        List<String> first = pairInStripes(twoStripes, 1, 0, 1_000_000_000L);
+        List<String> second = pairInStripes(twoStripes, 0, 1, 1_000_000_000L);
+        LockPolicy policy = LockPolicy.defaults().toBuilder()
+                .waitTimeMillis(200L)
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<String> pair : Arrays.asList(first, second)) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    service.lockAll(pair, policy);
+                    service.unlockAll(pair);
+                }
+            }));
+        }
+
+        //then
+        for (Future<?> future : futures) {
+            assertDoesNotThrow(() -> future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(Arrays.asList(first.get(1), first.get(0)), twoStripes.lockOrder(first));
+        assertEquals(second, twoStripes.lockOrder(second));
+    }
+
+    private static List<String> pairInStripes(LocalLockTier tier, int lowerStripe,
+                                              int higherStripe, long from) {
+        String lower = null;
+        for (long number = from; ; number++) {
+            String accountNumber = String.valueOf(number);
+            if (lower == null && tier.stripeIndexOf(accountNumber) == lowerStripe) {
+                lower = accountNumber;
+            } else if (lower != null && tier.stripeIndexOf(accountNumber) == higherStripe) {
+                return Arrays.asList(lower, accountNumber);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.Test;
+
+import static com.example.account.type.ShardKeyType.ACCOUNT_NUMBER;
+import static com.example.account.type.ShardKeyType.TRANSACTION_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ShardResolverTest {
+    @Test
+    void unshardedKeepsTransactionId() {
+        //given
+        ShardResolver shardResolver = new ShardResolver(1);
+
+        //when
+        //then
+        assertEquals(0, shardResolver.shardOfAccount("1000000001"));
+        assertEquals(0, shardResolver.shardOfTransaction(
+                new SnowflakeTransactionIdGenerator(1L).generate(0)));
+    }
+
+    @Test
+    void transactionIdCarriesShard() {
+        //given
+        ShardResolver shardResolver = new ShardResolver(4);
+
+        //when
+        String snowflakeId = new SnowflakeTransactionIdGenerator(1L).generate(3);
+        String uuidId = new UuidTransactionIdGenerator().generate(2);
+
+        //then
+        assertEquals(32, snowflakeId.length());
+        assertEquals(3, shardResolver.shardOf(TRANSACTION_ID, snowflakeId));
+        assertEquals(32, uuidId.length());
+        assertEquals(2, shardResolver.shardOf(TRANSACTION_ID, uuidId));
+        assertEquals(0, shardResolver.shardOfTransaction("0123456789abcdefzz0123456789abcd"));
+        assertEquals(0, shardResolver.shardOfTransaction("030123abcd"));
+    }
+
+    @Test
+    void consecutiveAccountNumbersSpreadAcrossShards() {
+        //given
+        ShardResolver shardResolver = new ShardResolver(2);
+
+        //when
+        //then
+        assertNotEquals(shardResolver.shardOf(ACCOUNT_NUMBER, "1000000000"),
+                shardResolver.shardOf(ACCOUNT_NUMBER, "1000000001"));
+        assertEquals(shardResolver.shardOfAccount("1000000000"),
+                shardResolver.shardOfAccount("1000000002"));
+    }
+}
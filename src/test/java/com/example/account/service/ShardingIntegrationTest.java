@@ -0,0 +1,69 @@
+package com.example.account.service;
+
+import com.example.account.config.ShardRoutingDataSource;
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.TransactionDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * H2 두 개를 샤드로 사용해서 계좌와 거래가 같은 샤드에 저장되고, 사용자 계좌 목록은 모든 샤드에서 모이는지 확인.
+ */
+@SpringBootTest(properties = "spring.redis.port=6392")
+@ActiveProfiles("sharding")
+class ShardingIntegrationTest {
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Test
+    void accountsAndTransactionsAreColocated() {
+        //given
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            accountNumbers.add(accountService.createAccount(2L, 10000L).getAccountNumber());
+        }
+
+        //when
+        TransactionDto used = transactionService.useBalance(2L, accountNumbers.get(1), 1000L);
+        List<AccountDto> accounts = accountService.getAccountsByUserId(2L);
+
+        //then
+        assertEquals(4, accounts.size());
+        assertEquals(4, countOnShard(ShardResolver.HOME_SHARD,
+                "select account_count from account_user where id = 2"));
+        for (int shard = 0; shard < 2; shard++) {
+            assertTrue(countOnShard(shard, "select count(*) from account" +
+                    " where account_user_id = 2") > 0);
+        }
+
+        int shard = shardResolver.shardOfAccount(accountNumbers.get(1));
+        assertEquals(shard, shardResolver.shardOfTransaction(used.getTransactionId()));
+        assertEquals(1, countOnShard(shard, "select count(*) from transaction" +
+                " where transaction_id = '" + used.getTransactionId() + "'"));
+        assertEquals(9000L, transactionService.queryTransaction(used.getTransactionId())
+                .getBalanceSnapshot());
+    }
+
+    private int countOnShard(int shard, String sql) {
+        return new JdbcTemplate(shardRoutingDataSource.shard(shard))
+                .queryForObject(sql, Integer.class);
+    }
+}
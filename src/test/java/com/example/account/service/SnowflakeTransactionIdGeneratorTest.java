@@ -0,0 +1,80 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeTransactionIdGeneratorTest {
+    private static final int COUNT = 100_000;
+
+    @Test
+    void keepExternalFormat() {
+        //given
+        SnowflakeTransactionIdGenerator generator = new SnowflakeTransactionIdGenerator(0x2aL);
+
+        //when
+        String transactionId = generator.generate(0x1f);
+
+        //then
+        assertEquals(32, transactionId.length());
+        assertTrue(transactionId.matches("[0-9a-f]{32}"));
+        assertEquals("002a", transactionId.substring(12, 16));
+        assertEquals("1f", transactionId.substring(16, 18));
+    }
+
+    @Test
+    void generateUniqueIds() {
+        //given
+        SnowflakeTransactionIdGenerator generator = new SnowflakeTransactionIdGenerator(1L);
+        Set<String> transactionIds = new HashSet<>();
+
+        //when
+        for (int i = 0; i < COUNT; i++) {
+            transactionIds.add(generator.generate(0));
+        }
+
+        //then
+        assertEquals(COUNT, transactionIds.size());
+    }
+
+    @Test
+    void insertAtRightEdgeOfIndex() {
+        //given
+        TransactionIdGenerator snowflake = new SnowflakeTransactionIdGenerator(1L);
+        TransactionIdGenerator uuid = new UuidTransactionIdGenerator();
+
+        //when
+        int snowflakeOutOfOrder = outOfOrderInserts(snowflake);
+        int uuidOutOfOrder = outOfOrderInserts(uuid);
+
+        //then
+        // 시간순 ID 는 항상 현재 최댓값 뒤에 추가되어 인덱스 중간 페이지를 건드리지 않음
+        assertEquals(0, snowflakeOutOfOrder);
+        assertTrue(uuidOutOfOrder > COUNT / 4);
+    }
+
+    @Test
+    void rejectInvalidNodeId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeTransactionIdGenerator(0x10000L));
+    }
+
+    private static int outOfOrderInserts(TransactionIdGenerator generator) {
+        String max = "";
+        int outOfOrder = 0;
+
+        for (int i = 0; i < COUNT; i++) {
+            String transactionId = generator.generate(0);
+            if (transactionId.compareTo(max) < 0) {
+                outOfOrder++;
+            } else {
+                max = transactionId;
+            }
+        }
+
+        return outOfOrder;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.ExportFormat;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 약 100만 건을 작은 힙에서 내보내도 OOM 없이 끝나는지 확인. {@code ./gradlew largeTest} 로 실행.
+ * 데이터가 힙에 올라가지 않도록 저장소만 H2 파일 DB 로 바꾸고, 조회 설정(LAZY_QUERY_EXECUTION)은
+ * application.yml 과 같게 둔다.
+ */
+@Tag("large")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./build/h2/export-test;CACHE_SIZE=8192;LAZY_QUERY_EXECUTION=1",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class TransactionExportLargeTest {
+    private static final int ROWS = 1_000_000;
+    private static final int SEED_CHUNK = 100_000;
+    // largeTest 태스크의 maxHeapSize 와 같게 유지
+    private static final long MAX_HEAP_BYTES = 128L * 1024 * 1024;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionExporter transactionExporter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportMillionRowsWithSmallHeap() throws IOException {
+        assertTrue(Runtime.getRuntime().maxMemory() <= MAX_HEAP_BYTES,
+                "run with ./gradlew largeTest to limit the heap");
+
+        //given
+        String accountNumber = accountService.createAccount(1L, 0L).getAccountNumber();
+        Account account = accountRepository.findByAccountNumber(accountNumber).get();
+        Timestamp base = Timestamp.valueOf(LocalDateTime.now().minusDays(30));
+        for (int start = 1; start <= ROWS; start += SEED_CHUNK) {
+            jdbcTemplate.update("insert into transaction(id, account_id, transaction_type," +
+                            " transaction_result_type, amount, balance_snapshot," +
+                            " transaction_id, transacted_at)" +
+                            " select 1000000000 + x, ?, 'USE', 'SUCCESS', 1000, 0," +
+                            " concat('export', x), dateadd('SECOND', x, ?)" +
+                            " from system_range(?, ?)",
+                    account.getId(), base, start, start + SEED_CHUNK - 1);
+        }
+        LineCountingOutputStream outputStream = new LineCountingOutputStream();
+
+        //when
+        long count = transactionExporter.export(
+                accountNumber, null, null, ExportFormat.NDJSON, outputStream);
+
+        //then
+        assertEquals(ROWS, count);
+        assertEquals(ROWS, outputStream.lines);
+    }
+
+    private static class LineCountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ExportFormat;
+import com.example.account.type.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static com.example.account.type.TransactionResultType.SUCCESS;
+import static com.example.account.type.TransactionType.CANCEL;
+import static com.example.account.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExporterTest {
+    private static final LocalDateTime TRANSACTED_AT = LocalDateTime.of(2022, 6, 1, 9, 30);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private TransactionExporter transactionExporter() {
+        ShardResolver shardResolver = new ShardResolver(1);
+        return new TransactionExporter(transactionRepository, objectMapper, shardResolver,
+                new ShardTemplate(shardResolver, mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void exportNdjson() throws IOException {
+        //given
+        given(transactionRepository.streamForExport(eq("1000000000"), any(), any()))
+                .willReturn(Stream.of(transaction("first", USE), transaction("second", CANCEL)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        long count = transactionExporter().export(
+                "1000000000", null, null, ExportFormat.NDJSON, outputStream);
+
+        //then
+        assertEquals(2L, count);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("first", objectMapper.readTree(lines[0]).get("transactionId").asText());
+        assertEquals("CANCEL", objectMapper.readTree(lines[1]).get("transactionType").asText());
+    }
+
+    @Test
+    void exportCsv() throws IOException {
+        //given
+        given(transactionRepository.streamAllForExport(any(), any()))
+                .willReturn(Stream.of(transaction("first", USE)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        long count = transactionExporter().export(
+                null, TRANSACTED_AT, TRANSACTED_AT.plusDays(1), ExportFormat.CSV, outputStream);
+
+        //then
+        assertEquals(1L, count);
+        assertEquals("transactionId,accountNumber,transactionType,transactionResult," +
+                        "amount,balanceSnapshot,transactedAt\n" +
+                        "first,1000000000,USE,SUCCESS,1000,9000,2022-06-01T09:30\n",
+                outputStream.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    private static TransactionDto transaction(String transactionId,
+                                              TransactionType type) {
+        return TransactionDto.builder()
+                .accountNumber("1000000000")
+                .transactionType(type)
+                .transactionResult(SUCCESS)
+                .amount(1000L)
+                .balanceSnapshot(9000L)
+                .transactionId(transactionId)
+                .transactedAt(TRANSACTED_AT)
+                .build();
+    }
+}
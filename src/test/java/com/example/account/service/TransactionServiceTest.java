@@ -1,12 +1,19 @@
 package com.example.account.service;
 
+import com.example.account.config.TransactionProperties;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.FailedTransaction;
+import com.example.account.dto.TransactionCursor;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistoryDto;
+import com.example.account.dto.TransferDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceOutcome;
 import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountBalanceView;
 import com.example.account.repository.AccountRepository;
-import com.example.account.repository.AccountUserRepository;
 import com.example.account.repository.TransactionRepository;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
@@ -18,18 +25,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static com.example.account.type.AccountStatus.*;
+import static com.example.account.type.DebitMode.CONDITIONAL_UPDATE;
 import static com.example.account.type.ErrorCode.*;
 import static com.example.account.type.TransactionResultType.*;
 import static com.example.account.type.TransactionType.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -43,7 +60,24 @@ class TransactionServiceTest {
     private AccountRepository accountRepository;
 
     @Mock
-    private AccountUserRepository accountUserRepository;
+    private AccountUserCache accountUserCache;
+
+    @Spy
+    private TransactionProperties transactionProperties = new TransactionProperties();
+
+    @Spy
+    private TransactionIdGenerator transactionIdGenerator = new UuidTransactionIdGenerator();
+
+    @Spy
+    private TransactionCache transactionCache =
+            new TransactionCache(new TransactionProperties(), null, null);
+
+    @Spy
+    private ShardResolver shardResolver = new ShardResolver(1);
+
+    @Spy
+    private ShardTemplate shardTemplate =
+            new ShardTemplate(new ShardResolver(1), mock(PlatformTransactionManager.class));
 
     @InjectMocks
     private TransactionService transactionService;
@@ -63,7 +97,7 @@ class TransactionServiceTest {
                 .accountNumber("1000000000")
                 .build();
 
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(accountUser));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -100,7 +134,7 @@ class TransactionServiceTest {
         AccountUser accountUser = AccountUser.builder()
                 .id(1L).name("kim").build();
 
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(accountUser));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.empty());
@@ -126,7 +160,7 @@ class TransactionServiceTest {
                 .accountUser(accountUser)
                 .balance(10000L).build();
 
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(accountUser));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
@@ -146,7 +180,7 @@ class TransactionServiceTest {
     @DisplayName("해당 유저 없음 - 잔액 사용 실패")
     void failedUseBalance_UserNotFound() {
         //given
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.empty());
 
         //when
@@ -166,7 +200,7 @@ class TransactionServiceTest {
         AccountUser hong = AccountUser.builder()
                 .id(13L).name("hong").build();
 
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(kim));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -189,7 +223,7 @@ class TransactionServiceTest {
         AccountUser kim = AccountUser.builder()
                 .id(12L).name("kim").build();
 
-        given(accountUserRepository.findById(anyLong()))
+        given(accountUserCache.findById(anyLong()))
                 .willReturn(Optional.of(kim));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(Account.builder()
@@ -208,8 +242,43 @@ class TransactionServiceTest {
     }
 
     @Test
-    @DisplayName("실패된 트랜잭션 저장 성공")
-    void save_FailedTransaction() {
+    @DisplayName("실패된 트랜잭션 일괄 저장 성공")
+    void save_FailedTransactions() {
+        //given
+        AccountUser accountUser = AccountUser.builder()
+                .id(1L).name("kim").build();
+
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .balance(10000L)
+                .accountStatus(IN_USE)
+                .accountNumber("1000000000").build();
+
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(Collections.singletonList(account));
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        transactionService.saveFailedTransactions(Arrays.asList(
+                new FailedTransaction(USE, "1000000000", 2000L),
+                new FailedTransaction(CANCEL, "1000000000", 3000L),
+                new FailedTransaction(USE, "9999999999", 4000L)));
+
+        //then
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        List<Transaction> saved = captor.getValue();
+        assertEquals(2, saved.size());
+        assertEquals(USE, saved.get(0).getTransactionType());
+        assertEquals(FAIL, saved.get(0).getTransactionResultType());
+        assertEquals(2000L, saved.get(0).getAmount());
+        assertEquals(10000L, saved.get(0).getBalanceSnapshot());
+        assertEquals(CANCEL, saved.get(1).getTransactionType());
+        assertEquals(3000L, saved.get(1).getAmount());
+    }
+
+    @Test
+    @DisplayName("한 계좌의 잔액 일괄 사용 - 실패한 건은 건너뛰고 나머지는 순서대로 차감")
+    void useBalances_partialFailure() {
         //given
         AccountUser accountUser = AccountUser.builder()
                 .id(1L).name("kim").build();
@@ -220,28 +289,31 @@ class TransactionServiceTest {
                 .accountStatus(IN_USE)
                 .accountNumber("1000000000").build();
 
+        given(accountUserCache.findById(1L))
+                .willReturn(Optional.of(accountUser));
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
-        given(transactionRepository.save(any()))
-                .willReturn(Transaction.builder()
-                        .account(account)
-                        .transactionType(USE)
-                        .transactionResultType(SUCCESS)
-                        .transactedAt(LocalDateTime.now())
-                        .transactionId("transactionId")
-                        .amount(1000L)
-                        .balanceSnapshot(9000L)
-                        .build());
-        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
 
         //when
-        transactionService.saveFailedTransaction("1000000000", 2000L);
+        List<UseBalanceOutcome> outcomes = transactionService.useBalances("1000000000",
+                Arrays.asList(
+                        new UseBalance.Request(1L, "1000000000", 6000L),
+                        new UseBalance.Request(1L, "1000000000", 5000L),
+                        new UseBalance.Request(1L, "1000000000", 4000L)));
 
         //then
-        verify(transactionRepository, times(1)).save(captor.capture());
-        assertEquals(2000L, captor.getValue().getAmount());
-        assertEquals(FAIL, captor.getValue().getTransactionResultType());
-        assertEquals(10000L, captor.getValue().getBalanceSnapshot());
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(4000L, captor.getValue().get(0).getBalanceSnapshot());
+        assertEquals(0L, captor.getValue().get(1).getBalanceSnapshot());
+        assertEquals(0L, account.getBalance());
+
+        assertTrue(outcomes.get(0).isSuccess());
+        assertEquals(AMOUNT_EXCEED_BALANCE, outcomes.get(1).getErrorCode());
+        assertEquals(5000L, outcomes.get(1).getAmount());
+        assertTrue(outcomes.get(2).isSuccess());
+        assertEquals(4000L, outcomes.get(2).getTransaction().getAmount());
     }
 
     @Test
@@ -411,7 +483,7 @@ class TransactionServiceTest {
     @DisplayName("거래 내역 없음 - 거래 조회 실패")
     void queryTransaction_NotFound() {
         //given
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findDtoByTransactionId(anyString()))
                 .willReturn(Optional.empty());
 
         //when
@@ -421,4 +493,373 @@ class TransactionServiceTest {
         //then
         assertEquals(TRANSACTION_NOT_FOUND, exception.getErrorCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("거래 조회는 캐시된 결과를 재사용")
+    void queryTransaction_cached() {
+        //given
+        given(transactionRepository.findDtoByTransactionId("cachedTransactionId"))
+                .willReturn(Optional.of(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactionType(USE)
+                        .transactionResult(SUCCESS)
+                        .transactionId("cachedTransactionId")
+                        .amount(1000L)
+                        .build()));
+
+        //when
+        TransactionDto first = transactionService.queryTransaction("cachedTransactionId");
+        TransactionDto second = transactionService.queryTransaction("cachedTransactionId");
+
+        //then
+        verify(transactionRepository, times(1)).findDtoByTransactionId("cachedTransactionId");
+        assertEquals("1000000000", first.getAccountNumber());
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("거래 이력 첫 페이지 조회 - 다음 페이지 커서 발급")
+    void getTransactionHistory_firstPage() {
+        //given
+        Account account = Account.builder()
+                .id(1L)
+                .accountNumber("1000000000").build();
+        LocalDateTime now = LocalDateTime.now();
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findHistory(anyLong(), any(), any(), anyLong(),
+                any(), any(), any()))
+                .willReturn(Arrays.asList(
+                        historyTransaction(account, 30L, now),
+                        historyTransaction(account, 20L, now.minusSeconds(1)),
+                        historyTransaction(account, 10L, now.minusSeconds(2))));
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+
+        //when
+        TransactionHistoryDto history = transactionService.getTransactionHistory(
+                "1000000000", USE, null, null, null, null, 2);
+
+        //then
+        verify(transactionRepository, times(1)).findHistory(eq(1L), any(), any(),
+                eq(Long.MAX_VALUE), eq(USE), isNull(), captor.capture());
+        assertEquals(3, captor.getValue().getPageSize());
+        assertEquals(2, history.getTransactions().size());
+        TransactionCursor cursor = TransactionCursor.decode(history.getNextCursor());
+        assertEquals(20L, cursor.getId());
+        assertEquals(now.minusSeconds(1), cursor.getTransactedAt());
+    }
+
+    @Test
+    @DisplayName("거래 이력 마지막 페이지 조회 - 커서 없음")
+    void getTransactionHistory_lastPage() {
+        //given
+        Account account = Account.builder()
+                .id(1L)
+                .accountNumber("1000000000").build();
+        LocalDateTime cursorAt = LocalDateTime.now();
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findHistory(anyLong(), any(), any(), anyLong(),
+                any(), any(), any()))
+                .willReturn(Collections.singletonList(
+                        historyTransaction(account, 10L, cursorAt.minusSeconds(1))));
+
+        //when
+        TransactionHistoryDto history = transactionService.getTransactionHistory(
+                "1000000000", null, null, null, null,
+                new TransactionCursor(cursorAt, 20L).encode(), 2);
+
+        //then
+        verify(transactionRepository, times(1)).findHistory(eq(1L), any(), eq(cursorAt),
+                eq(20L), isNull(), isNull(), any());
+        assertEquals(1, history.getTransactions().size());
+        assertNull(history.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서 - 거래 이력 조회 실패")
+    void getTransactionHistory_invalidCursor() {
+        //given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder().id(1L).build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.getTransactionHistory(
+                        "1000000000", null, null, null, null, "not-a-cursor", 20));
+
+        //then
+        assertEquals(INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    private static Transaction historyTransaction(Account account, Long id,
+                                                  LocalDateTime transactedAt) {
+        return Transaction.builder()
+                .id(id)
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(SUCCESS)
+                .transactionId("transactionId" + id)
+                .amount(1000L)
+                .transactedAt(transactedAt)
+                .build();
+    }
+
+    @Test
+    @DisplayName("조건부 UPDATE 잔액 사용 성공")
+    void successUseBalance_conditionalUpdate() {
+        //given
+        transactionProperties.setDebitMode(CONDITIONAL_UPDATE);
+        Account account = Account.builder()
+                .id(12L)
+                .accountNumber("1000000000").build();
+
+        given(accountRepository.debitIfAvailable(1L, "1000000000", 500L))
+                .willReturn(1);
+        given(accountRepository.findBalanceByAccountNumber("1000000000"))
+                .willReturn(Optional.of(accountBalance(12L, 9500L)));
+        given(accountRepository.getById(12L))
+                .willReturn(account);
+        given(transactionRepository.save(any()))
+                .will(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        TransactionDto transactionDto = transactionService.useBalance(1L,
+                "1000000000", 500L);
+
+        //then
+        verify(transactionRepository, times(1)).save(captor.capture());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        assertEquals(500L, captor.getValue().getAmount());
+        assertEquals(9500L, captor.getValue().getBalanceSnapshot());
+        assertEquals(account, captor.getValue().getAccount());
+        assertEquals("1000000000", transactionDto.getAccountNumber());
+        assertEquals(USE, transactionDto.getTransactionType());
+        assertEquals(SUCCESS, transactionDto.getTransactionResult());
+    }
+
+    @Test
+    @DisplayName("조건부 UPDATE 실패 - 잔액 부족")
+    void failedUseBalance_conditionalUpdate_exceedAmount() {
+        //given
+        transactionProperties.setDebitMode(CONDITIONAL_UPDATE);
+        AccountUser accountUser = AccountUser.builder()
+                .id(1L).name("kim").build();
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(IN_USE)
+                .balance(100L)
+                .accountNumber("1000000000").build();
+
+        given(accountRepository.debitIfAvailable(anyLong(), anyString(), anyLong()))
+                .willReturn(0);
+        given(accountUserCache.findById(1L))
+                .willReturn(Optional.of(accountUser));
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(account));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(1L, "1000000000", 500L));
+
+        //then
+        assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("조건부 UPDATE 실패 - 해지된 계좌")
+    void failedUseBalance_conditionalUpdate_unregistered() {
+        //given
+        transactionProperties.setDebitMode(CONDITIONAL_UPDATE);
+        AccountUser accountUser = AccountUser.builder()
+                .id(1L).name("kim").build();
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(UNREGISTERED)
+                .balance(10000L)
+                .accountNumber("1000000000").build();
+
+        given(accountRepository.debitIfAvailable(anyLong(), anyString(), anyLong()))
+                .willReturn(0);
+        given(accountUserCache.findById(1L))
+                .willReturn(Optional.of(accountUser));
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(account));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(1L, "1000000000", 500L));
+
+        //then
+        assertEquals(ACCOUNT_ALREADY_UNREGISTERED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("조건부 UPDATE 잔액 일괄 사용 - 건마다 조건부 UPDATE 로 차감하고 실패한 건만 건너뜀")
+    void useBalances_conditionalUpdate() {
+        //given
+        transactionProperties.setDebitMode(CONDITIONAL_UPDATE);
+        AccountUser accountUser = AccountUser.builder()
+                .id(1L).name("kim").build();
+        Account account = Account.builder()
+                .id(12L)
+                .accountUser(accountUser)
+                .accountStatus(IN_USE)
+                .balance(4000L)
+                .accountNumber("1000000000").build();
+
+        given(accountRepository.debitIfAvailable(1L, "1000000000", 6000L))
+                .willReturn(1);
+        given(accountRepository.debitIfAvailable(1L, "1000000000", 5000L))
+                .willReturn(0);
+        given(accountRepository.debitIfAvailable(1L, "1000000000", 4000L))
+                .willReturn(1);
+        given(accountRepository.findBalanceByAccountNumber("1000000000"))
+                .willReturn(Optional.of(accountBalance(12L, 4000L)),
+                        Optional.of(accountBalance(12L, 0L)));
+        given(accountRepository.getById(12L))
+                .willReturn(account);
+        given(accountUserCache.findById(1L))
+                .willReturn(Optional.of(accountUser));
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(account));
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        List<UseBalanceOutcome> outcomes = transactionService.useBalances("1000000000",
+                Arrays.asList(
+                        new UseBalance.Request(1L, "1000000000", 6000L),
+                        new UseBalance.Request(1L, "1000000000", 5000L),
+                        new UseBalance.Request(1L, "1000000000", 4000L)));
+
+        //then
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(4000L, captor.getValue().get(0).getBalanceSnapshot());
+        assertEquals(0L, captor.getValue().get(1).getBalanceSnapshot());
+
+        assertTrue(outcomes.get(0).isSuccess());
+        assertEquals("1000000000", outcomes.get(0).getTransaction().getAccountNumber());
+        assertEquals(AMOUNT_EXCEED_BALANCE, outcomes.get(1).getErrorCode());
+        assertTrue(outcomes.get(2).isSuccess());
+        assertEquals(4000L, outcomes.get(2).getTransaction().getAmount());
+    }
+
+    @Test
+    @DisplayName("계좌 이체 성공")
+    void successTransfer() {
+        //given
+        AccountUser accountUser = AccountUser.builder()
+                .id(1L).name("kim").build();
+        Account fromAccount = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000000").build();
+        Account toAccount = Account.builder()
+                .accountUser(AccountUser.builder().id(2L).name("park").build())
+                .accountStatus(IN_USE)
+                .balance(500L)
+                .accountNumber("2000000000").build();
+
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(accountUser));
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(fromAccount));
+        given(accountRepository.findByAccountNumber("2000000000"))
+                .willReturn(Optional.of(toAccount));
+        given(transactionRepository.save(any()))
+                .will(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        TransferDto transferDto = transactionService.transfer(1L,
+                "1000000000", "2000000000", 3000L);
+
+        //then
+        verify(transactionRepository, times(2)).save(captor.capture());
+        assertEquals(TRANSFER_OUT, captor.getAllValues().get(0).getTransactionType());
+        assertEquals(7000L, captor.getAllValues().get(0).getBalanceSnapshot());
+        assertEquals(TRANSFER_IN, captor.getAllValues().get(1).getTransactionType());
+        assertEquals(3500L, captor.getAllValues().get(1).getBalanceSnapshot());
+        assertEquals("1000000000", transferDto.getWithdrawal().getAccountNumber());
+        assertEquals("2000000000", transferDto.getDeposit().getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("같은 계좌로 이체 불가")
+    void failedTransfer_sameAccount() {
+        //given
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transfer(1L, "1000000000", "1000000000", 3000L));
+
+        //then
+        assertEquals(INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("이체 대상 계좌 해지됨 - 이체 실패")
+    void failedTransfer_toAccountUnregistered() {
+        //given
+        AccountUser accountUser = AccountUser.builder()
+                .id(1L).name("kim").build();
+        Account fromAccount = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000000").build();
+        Account toAccount = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(UNREGISTERED)
+                .balance(0L)
+                .accountNumber("2000000000").build();
+
+        given(accountUserCache.findById(anyLong()))
+                .willReturn(Optional.of(accountUser));
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(fromAccount));
+        given(accountRepository.findByAccountNumber("2000000000"))
+                .willReturn(Optional.of(toAccount));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transfer(1L, "1000000000", "2000000000", 3000L));
+
+        //then
+        assertEquals(ACCOUNT_ALREADY_UNREGISTERED, exception.getErrorCode());
+        assertEquals(10000L, fromAccount.getBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("다른 샤드의 계좌로 이체 - 이체 실패")
+    void failedTransfer_crossShard() {
+        //given
+        doReturn(1).when(shardResolver).shardOfAccount("2000000000");
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transfer(1L, "1000000000", "2000000000", 3000L));
+
+        //then
+        assertEquals(CROSS_SHARD_TRANSFER, exception.getErrorCode());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
+    private static AccountBalanceView accountBalance(Long id, Long balance) {
+        return new AccountBalanceView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBalance() {
+                return balance;
+            }
+        };
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.account.service;
+
+import com.example.account.config.LockPolicy;
+import com.example.account.config.LockProperties;
+import com.example.account.dto.FailedTransaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceOutcome;
+import com.example.account.exception.AccountException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+import static com.example.account.type.LockStrategy.OPTIMISTIC;
+import static com.example.account.type.TransactionResultType.SUCCESS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UseBalanceBatchServiceTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private AccountMailbox accountMailbox;
+
+    @Spy
+    private LockProperties lockProperties = new LockProperties();
+
+    @Mock
+    private LockMetrics lockMetrics;
+
+    @Mock
+    private FailedTransactionRecorder failedTransactionRecorder;
+
+    @Spy
+    private VersionConflictRetry versionConflictRetry = new VersionConflictRetry(lockProperties);
+
+    @InjectMocks
+    private UseBalanceBatchService useBalanceBatchService;
+
+    @Test
+    @DisplayName("계좌별로 묶어서 락을 한 번씩만 잡고, 결과는 요청 순서대로 돌려줌")
+    void groupByAccount() {
+        //given
+        given(transactionService.useBalances(anyString(), anyList()))
+                .willAnswer(invocation -> {
+                    List<UseBalance.Request> group = invocation.getArgument(1);
+                    return group.stream()
+                            .map(request -> UseBalanceOutcome.success(TransactionDto.builder()
+                                    .accountNumber(request.getAccountNumber())
+                                    .transactionResult(SUCCESS)
+                                    .amount(request.getAmount())
+                                    .build()))
+                            .collect(Collectors.toList());
+                });
+
+        //when
+        List<UseBalanceOutcome> outcomes = useBalanceBatchService.useBalances(Arrays.asList(
+                new UseBalance.Request(1L, "1000000000", 1000L),
+                new UseBalance.Request(2L, "2000000000", 2000L),
+                new UseBalance.Request(1L, "1000000000", 3000L)));
+
+        //then
+        verify(lockService, times(1)).lock(eq("1000000000"), any(LockPolicy.class));
+        verify(lockService, times(1)).lock(eq("2000000000"), any(LockPolicy.class));
+        verify(lockService, times(1)).unlock("1000000000");
+        verify(lockService, times(1)).unlock("2000000000");
+        verify(transactionService, times(2)).useBalances(anyString(), anyList());
+        assertEquals(Arrays.asList(1000L, 2000L, 3000L), outcomes.stream()
+                .map(UseBalanceOutcome::getAmount)
+                .collect(Collectors.toList()));
+        verify(failedTransactionRecorder, never()).record(any());
+    }
+
+    @Test
+    @DisplayName("락을 못 잡은 계좌의 건만 실패로 기록")
+    void lockFailedGroup() {
+        //given
+        willThrow(new AccountException(ACCOUNT_TRANSACTION_LOCK))
+                .given(lockService).lock(eq("1000000000"), any(LockPolicy.class));
+        given(transactionService.useBalances(eq("2000000000"), anyList()))
+                .willReturn(Arrays.asList(UseBalanceOutcome.success(TransactionDto.builder()
+                        .accountNumber("2000000000")
+                        .transactionResult(SUCCESS)
+                        .amount(2000L)
+                        .build())));
+
+        //when
+        List<UseBalanceOutcome> outcomes = useBalanceBatchService.useBalances(Arrays.asList(
+                new UseBalance.Request(1L, "1000000000", 1000L),
+                new UseBalance.Request(2L, "2000000000", 2000L)));
+
+        //then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, outcomes.get(0).getErrorCode());
+        assertTrue(outcomes.get(1).isSuccess());
+        verify(lockService, never()).unlock("1000000000");
+        verify(failedTransactionRecorder, times(1)).record(argThat((FailedTransaction failed) ->
+                failed.getAccountNumber().equals("1000000000") && failed.getAmount() == 1000L));
+    }
+
+    @Test
+    @DisplayName("낙관적 락 충돌은 묶음을 다시 실행해서 처리")
+    void optimisticConflictRetried() {
+        //given
+        lockProperties.setStrategy(OPTIMISTIC);
+        given(transactionService.useBalances(eq("1000000000"), anyList()))
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L))
+                .willReturn(Arrays.asList(UseBalanceOutcome.success(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactionResult(SUCCESS)
+                        .amount(1000L)
+                        .build())));
+
+        //when
+        List<UseBalanceOutcome> outcomes = useBalanceBatchService.useBalances(Arrays.asList(
+                new UseBalance.Request(1L, "1000000000", 1000L)));
+
+        //then
+        assertTrue(outcomes.get(0).isSuccess());
+        verify(transactionService, times(2)).useBalances(eq("1000000000"), anyList());
+        verify(lockService, never()).lock(anyString(), any(LockPolicy.class));
+        verify(failedTransactionRecorder, never()).record(any());
+    }
+
+    @Test
+    @DisplayName("낙관적 락 충돌이 계속되면 그 계좌의 건만 실패")
+    void optimisticConflictExhausted() {
+        //given
+        lockProperties.setStrategy(OPTIMISTIC);
+        given(transactionService.useBalances(eq("1000000000"), anyList()))
+                .willThrow(new ObjectOptimisticLockingFailureException("Account", 1L));
+
+        //when
+        List<UseBalanceOutcome> outcomes = useBalanceBatchService.useBalances(Arrays.asList(
+                new UseBalance.Request(1L, "1000000000", 1000L)));
+
+        //then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, outcomes.get(0).getErrorCode());
+        verify(transactionService, times(3)).useBalances(eq("1000000000"), anyList());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.account.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 벤치마크 한 건의 결과. 출력한 결과는 실행한 시각과 함께 build/reports/benchmark/results.txt 에도 쌓인다.
+ */
+public class BenchmarkReport {
+    private static final Path RESULTS = Paths.get("build", "reports", "benchmark", "results.txt");
+
+    private final String name;
+    private final long elapsedNanos;
+    private final long[] latencies;
+    private final long failures;
+
+    public BenchmarkReport(String name, long elapsedNanos, long[] latencies, long failures) {
+        this.name = name;
+        this.elapsedNanos = elapsedNanos;
+        this.latencies = latencies.clone();
+        this.failures = failures;
+        Arrays.sort(this.latencies);
+    }
+
+    public double throughput() {
+        return latencies.length / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public long percentileMicros(double percentile) {
+        if (latencies.length == 0) {
+            return 0L;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+
+        return latencies[Math.max(0, index)] / 1_000L;
+    }
+
+    public void print() {
+        String line = String.format(
+                "%-40s ops=%8d  ops/s=%10.1f  p50=%7dus  p99=%7dus  max=%7dus  failures=%d%n",
+                name, latencies.length, throughput(),
+                percentileMicros(50), percentileMicros(99), percentileMicros(100), failures);
+        System.out.print(line);
+        record(line);
+    }
+
+    private static void record(String line) {
+        try {
+            Files.createDirectories(RESULTS.getParent());
+            Files.write(RESULTS, (LocalDateTime.now() + "  " + line).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Failed to record benchmark result: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.account.benchmark;
+
+import com.example.account.dto.CreateAccount;
+import com.example.account.dto.UseBalance;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP 로 잔액 사용 요청을 보내는 부하 발생기. 블로킹 모듈과 리액티브 모듈을 같은 조건으로 비교하도록
+ * 클라이언트는 논블로킹으로 두고 동시에 처리 중인 요청 수만 제한한다.
+ * 이 프로젝트는 실패도 200 + errorCode 로 응답하므로 본문으로 실패를 센다.
+ */
+public class HttpLoadDriver {
+    private static final long USE_AMOUNT = 10L;
+
+    private final WebClient webClient;
+    private final int concurrency;
+
+    public HttpLoadDriver(String baseUrl, int concurrency) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("load-driver")
+                .maxConnections(concurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        this.concurrency = concurrency;
+    }
+
+    // i 번째 계좌는 (i % 2 + 1) 번 사용자 소유
+    public List<String> createAccounts(int count) {
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            accountNumbers.add(webClient.post()
+                    .uri("/account")
+                    .bodyValue(new CreateAccount.Request((long) (i % 2 + 1), 1_000_000_000L))
+                    .retrieve()
+                    .bodyToMono(CreateAccount.Response.class)
+                    .block()
+                    .getAccountNumber());
+        }
+        return accountNumbers;
+    }
+
+    public BenchmarkReport useBalance(String name, List<String> accountNumbers, int requests) {
+        long[] latencies = new long[requests];
+        AtomicLong failures = new AtomicLong();
+
+        long begin = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    int index = i % accountNumbers.size();
+                    long start = System.nanoTime();
+
+                    return webClient.post()
+                            .uri("/transaction/use")
+                            .bodyValue(new UseBalance.Request(
+                                    (long) (index % 2 + 1), accountNumbers.get(index), USE_AMOUNT))
+                            .retrieve()
+                            .bodyToMono(String.class)
+                            .doOnNext(body -> {
+                                if (body.contains("\"errorCode\"")) {
+                                    failures.incrementAndGet();
+                                }
+                            })
+                            .onErrorResume(e -> {
+                                failures.incrementAndGet();
+                                return Mono.empty();
+                            })
+                            .doFinally(signal -> latencies[i] = System.nanoTime() - start);
+                }, concurrency)
+                .blockLast();
+        long elapsed = System.nanoTime() - begin;
+
+        return new BenchmarkReport(name, elapsed, latencies, failures.get());
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.account.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 블로킹, virtual-threads, 리액티브 모듈이 함께 쓰는 HTTP 부하 시나리오.
+ * 한 계좌에 몰리는 요청(hot)과 여러 계좌로 나뉜 요청(spread)을 동시 요청 수별로 보낸다.
+ */
+public final class HttpLoadScenario {
+    static final int[] CONCURRENCY = {64, 256, 1024};
+    static final int REQUESTS = 10_000;
+    static final int SPREAD_ACCOUNTS = 8;
+
+    private HttpLoadScenario() {
+    }
+
+    public static void run(String module, String baseUrl) {
+        HttpLoadDriver setup = new HttpLoadDriver(baseUrl, 1);
+        List<String> hotAccount = Collections.singletonList(setup.createAccounts(1).get(0));
+        List<String> spreadAccounts = setup.createAccounts(SPREAD_ACCOUNTS);
+
+        for (int concurrency : CONCURRENCY) {
+            HttpLoadDriver driver = new HttpLoadDriver(baseUrl, concurrency);
+            driver.useBalance("warm-up", spreadAccounts, REQUESTS / 10);
+            driver.useBalance(module + ", hot, c=" + concurrency, hotAccount, REQUESTS).print();
+            driver.useBalance(module + ", spread, c=" + concurrency, spreadAccounts, REQUESTS).print();
+        }
+    }
+}